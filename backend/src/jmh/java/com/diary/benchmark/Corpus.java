@@ -0,0 +1,104 @@
+package com.diary.benchmark;
+
+import com.diary.entity.Diary;
+import com.diary.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 합성 일기 말뭉치 (고정 시드로 매번 같은 데이터 생성)
+ *
+ * 실제 일기처럼 자주 쓰는 단어가 많이 나오도록 어휘를 치우치게 뽑고,
+ * 불용어/숫자/1글자 토큰을 섞어 필터 경로도 함께 측정한다.
+ */
+final class Corpus {
+    
+    private static final String[] KOREAN = {
+            "오늘은", "어제는", "친구와", "카페에서", "커피를", "마셨다", "회사에서", "회의가", "길었다", "점심은",
+            "김치찌개를", "먹었다", "저녁에는", "산책을", "했다", "날씨가", "좋았다", "비가", "왔다", "기분이",
+            "우울했다", "행복했다", "가족과", "함께", "영화를", "봤다", "책을", "읽었다", "운동을", "열심히",
+            "공부를", "시작했다", "내일은", "일찍", "일어나야지", "주말에는", "여행을", "가고", "싶다", "엄마가",
+            "전화를", "하셨다", "동생이", "생일이라", "케이크를", "샀다", "피곤해서", "일찍", "잠들었다", "새로운",
+            "일기장", "서비스를", "사용해", "보았다", "정말", "기대된다!", "매일", "조금씩이라도", "기록하는", "것이",
+            "중요하다.", "버스를", "놓쳐서", "지각했다", "강아지와", "공원에", "다녀왔다", "요리를", "해봤는데", "맛있었다"
+    };
+    
+    private static final String[] ENGLISH = {
+            "today", "yesterday", "coffee", "with", "friends", "meeting", "was", "long", "lunch", "dinner",
+            "walked", "park", "weather", "nice", "rainy", "felt", "happy", "tired", "family", "movie",
+            "watched", "read", "book", "exercise", "studied", "tomorrow", "early", "weekend", "travel", "want",
+            "called", "mom", "birthday", "cake", "bought", "slept", "new", "diary", "service", "started",
+            "really", "excited!", "every", "day", "little", "writing", "important.", "missed", "bus", "late",
+            "dog", "cooked", "delicious", "work", "project", "deadline", "finally", "finished", "music", "listened"
+    };
+    
+    private static final String[] NOISE = {
+            "그리고", "하지만", "the", "and", "to", "of", "a", "나", "1", "2025", "3", "!", "?"
+    };
+    
+    private Corpus() {}
+    
+    /**
+     * 일기 본문 목록 (language: ko, en, mixed)
+     */
+    static List<String> contents(String language, int diaries, int wordsPerDiary) {
+        Random random = new Random(42);
+        List<String> contents = new ArrayList<>(diaries);
+        for (int i = 0; i < diaries; i++) {
+            StringBuilder content = new StringBuilder(wordsPerDiary * 8);
+            for (int j = 0; j < wordsPerDiary; j++) {
+                if (j > 0) {
+                    content.append(random.nextInt(10) == 0 ? "\n" : " ");
+                }
+                content.append(word(random, language));
+            }
+            contents.add(content.toString());
+        }
+        return contents;
+    }
+    
+    /**
+     * 영속 상태를 흉내 낸 일기 엔티티 목록
+     */
+    static List<Diary> diaries(int count) {
+        User user = new User("benchmark_user");
+        user.setId(1L);
+        List<String> contents = contents("mixed", count, 80);
+        LocalDateTime now = LocalDateTime.of(2025, 7, 21, 21, 30);
+        
+        List<Diary> diaries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Diary diary = new Diary(user, "벤치마크 일기 " + i, contents.get(i));
+            diary.setId((long) i + 1);
+            diary.setDiaryDate(LocalDate.of(2025, 7, 21).minusDays(i));
+            diary.setImagePath(i % 3 == 0 ? "c0ffee" + i + ".jpg" : null);
+            diary.setCreatedAt(now.minusDays(i));
+            diary.setUpdatedAt(now.minusDays(i).plusHours(1));
+            diaries.add(diary);
+        }
+        return diaries;
+    }
+    
+    private static String word(Random random, String language) {
+        if (random.nextInt(8) == 0) {
+            return NOISE[random.nextInt(NOISE.length)];
+        }
+        
+        String[] vocabulary;
+        if ("ko".equals(language)) {
+            vocabulary = KOREAN;
+        } else if ("en".equals(language)) {
+            vocabulary = ENGLISH;
+        } else {
+            vocabulary = random.nextInt(3) == 0 ? ENGLISH : KOREAN;
+        }
+        
+        // 제곱 분포로 앞쪽 어휘가 더 자주 나오게 함
+        double skew = random.nextDouble();
+        return vocabulary[(int) (skew * skew * vocabulary.length)];
+    }
+}
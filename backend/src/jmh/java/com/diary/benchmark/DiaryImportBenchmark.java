@@ -0,0 +1,103 @@
+package com.diary.benchmark;
+
+import com.diary.DiaryServiceApplication;
+import com.diary.dto.DiaryDTO;
+import com.diary.dto.ImportResultDTO;
+import com.diary.entity.Diary;
+import com.diary.entity.User;
+import com.diary.repository.UserRepository;
+import com.diary.service.DiaryImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일기 일괄 가져오기 (POST /api/diaries/import) - JDBC batch INSERT와 건별 createDiary 비교
+ *
+ * 내장 PostgreSQL에 database/schema.sql을 적용하고 애플리케이션 컨텍스트를 띄워 실제 가져오기 경로를 측정한다.
+ * 호출마다 새 사용자로 rows건을 가져오므로 한 번의 측정이 가져오기 요청 하나에 해당한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DiaryImportBenchmark {
+    
+    @Param({"batch", "per-row"})
+    private String mode;
+    
+    @Param({"1000"})
+    private int rows;
+    
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private DiaryImportService importService;
+    private UserRepository userRepository;
+    private byte[] ndjson;
+    private User user;
+    private int users;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            // 전문 검색 색인 식(to_tsvector('korean', ...))만 만들 수 있으면 되므로 simple 설정을 복사해 사용
+            statement.execute("CREATE TEXT SEARCH CONFIGURATION korean (COPY = simple)");
+            statement.execute(Files.readString(Path.of("..", "database", "schema.sql")));
+        }
+        
+        context = new SpringApplicationBuilder(DiaryServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--file.upload-dir=" + Files.createTempDirectory("import-benchmark"));
+        importService = context.getBean(DiaryImportService.class);
+        userRepository = context.getBean(UserRepository.class);
+        
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Diary diary : Corpus.diaries(rows)) {
+            out.write(objectMapper.writeValueAsBytes(new DiaryDTO(diary)));
+            out.write('\n');
+        }
+        ndjson = out.toByteArray();
+    }
+    
+    @Setup(Level.Invocation)
+    public void newUser() {
+        user = userRepository.save(new User("import_benchmark_" + users++));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+    
+    @Benchmark
+    public ImportResultDTO importDiaries() {
+        ImportResultDTO result = importService.importDiaries(user, new ByteArrayInputStream(ndjson), 0, "per-row".equals(mode));
+        if (!result.isCompleted() || result.getImported() != rows) {
+            throw new IllegalStateException("가져오기 실패: " + result.getErrors());
+        }
+        return result;
+    }
+}
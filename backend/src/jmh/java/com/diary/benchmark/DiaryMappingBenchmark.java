@@ -0,0 +1,35 @@
+package com.diary.benchmark;
+
+import com.diary.dto.DiaryDTO;
+import com.diary.entity.Diary;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 → DiaryDTO 변환 (일기 100건)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiaryMappingBenchmark {
+    
+    private List<Diary> diaries;
+    
+    @Setup
+    public void setUp() {
+        diaries = Corpus.diaries(100);
+    }
+    
+    @Benchmark
+    public void toDto(Blackhole blackhole) {
+        for (Diary diary : diaries) {
+            blackhole.consume(new DiaryDTO(diary));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.diary.benchmark;
+
+import com.diary.dto.DiaryDTO;
+import com.diary.dto.StatisticsDTO;
+import com.diary.service.WordAnalyzer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 응답 JSON 직렬화 (Spring Boot 기본 ObjectMapper 설정과 동일)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    
+    @State(Scope.Benchmark)
+    public static class PageState {
+        @Param({"10", "50"})
+        int pageSize;
+        
+        Page<DiaryDTO> page;
+        
+        @Setup
+        public void setUp() {
+            List<DiaryDTO> content = Corpus.diaries(pageSize).stream()
+                    .map(DiaryDTO::new)
+                    .collect(Collectors.toList());
+            page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1000);
+        }
+    }
+    
+    @State(Scope.Benchmark)
+    public static class StatisticsState {
+        StatisticsDTO statistics;
+        
+        @Setup
+        public void setUp() {
+            List<StatisticsDTO.MonthlyStatistic> months = new ArrayList<>();
+            for (int i = 0; i < 24; i++) {
+                months.add(new StatisticsDTO.MonthlyStatistic(2025 - i / 12, 12 - i % 12, 10 + i));
+            }
+            List<StatisticsDTO.WordFrequency> words = new WordAnalyzer().topWords(Corpus.contents("mixed", 100, 120), 20);
+            statistics = new StatisticsDTO(months, words, 1000);
+        }
+    }
+    
+    @Benchmark
+    public byte[] diaryPage(PageState state) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(state.page);
+    }
+    
+    @Benchmark
+    public byte[] statistics(StatisticsState state) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(state.statistics);
+    }
+}
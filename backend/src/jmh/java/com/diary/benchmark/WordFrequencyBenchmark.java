@@ -0,0 +1,39 @@
+package com.diary.benchmark;
+
+import com.diary.dto.StatisticsDTO;
+import com.diary.service.WordAnalyzer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 통계 화면 "자주 쓰는 단어" 계산 (StatisticsService 단어 색인 미사용 경로)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordFrequencyBenchmark {
+    
+    @Param({"ko", "en", "mixed"})
+    private String language;
+    
+    @Param({"10", "100", "1000"})
+    private int diaries;
+    
+    private final WordAnalyzer wordAnalyzer = new WordAnalyzer();
+    private List<String> contents;
+    
+    @Setup
+    public void setUp() {
+        contents = Corpus.contents(language, diaries, 120);
+    }
+    
+    @Benchmark
+    public List<StatisticsDTO.WordFrequency> topWords() {
+        return wordAnalyzer.topWords(contents, 20);
+    }
+}
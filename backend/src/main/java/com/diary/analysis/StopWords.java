@@ -0,0 +1,30 @@
+package com.diary.analysis;
+
+/**
+ * 통계에서 제외할 불용어 (소문자, 시작 시 한 번만 만듦)
+ */
+final class StopWords {
+    
+    private static final WordCounter WORDS = new WordCounter(64);
+    
+    static {
+        String[] words = {
+                "이", "그", "저", "것", "들", "는", "은", "을", "를", "에", "의", "가", "와", "과",
+                "도", "만", "까지", "부터", "로", "으로", "에서", "에게", "한테", "하고", "그리고",
+                "또", "또한", "그런데", "하지만", "그러나", "그래서", "따라서", "즉", "예를", "들어",
+                "the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for", "of", "with", "by"
+        };
+        for (String word : words) {
+            WORDS.increment(word, 0, word.length());
+        }
+    }
+    
+    private StopWords() {}
+    
+    /**
+     * text[start, end)가 불용어인지 (ASCII 대문자는 소문자로 보고 비교)
+     */
+    static boolean contains(String text, int start, int end) {
+        return WORDS.contains(text, start, end);
+    }
+}
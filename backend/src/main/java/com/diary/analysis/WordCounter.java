@@ -0,0 +1,270 @@
+package com.diary.analysis;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * 단어 → 등장 횟수 오픈 어드레싱 해시맵 (박싱 없음)
+ *
+ * 원문 문자열의 구간으로 바로 조회하고 ASCII 대문자는 소문자로 접어서 비교하므로,
+ * 이미 있는 단어는 부분 문자열을 만들지 않고 횟수만 올린다. 키 문자열은 처음 등장할 때 한 번만 만든다.
+ */
+public final class WordCounter {
+    
+    private static final float LOAD_FACTOR = 0.5f;
+    
+    private String[] keys;
+    private int[] hashes;
+    private int[] counts;
+    private int size;
+    private int mask;
+    
+    public WordCounter() {
+        this(64);
+    }
+    
+    public WordCounter(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+    }
+    
+    /**
+     * text[start, end) 단어의 횟수 1 증가
+     */
+    public void increment(String text, int start, int end) {
+        add(text, start, end, 1);
+    }
+    
+    /**
+     * text[start, end) 단어의 횟수에 delta 더하기
+     */
+    public void add(String text, int start, int end, int delta) {
+        int hash = hash(text, start, end);
+        int i = slot(hash);
+        while (keys[i] != null) {
+            if (hashes[i] == hash && matches(keys[i], text, start, end)) {
+                counts[i] += delta;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        
+        keys[i] = fold(text, start, end);
+        hashes[i] = hash;
+        counts[i] = delta;
+        if (++size > keys.length * LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+    }
+    
+    /**
+     * 다른 집계 결과 합치기 (병렬 부분 집계 병합용, 저장된 해시를 그대로 사용)
+     */
+    public void addAll(WordCounter other) {
+        for (int j = 0; j < other.keys.length; j++) {
+            String key = other.keys[j];
+            if (key == null) {
+                continue;
+            }
+            
+            int hash = other.hashes[j];
+            int i = slot(hash);
+            while (keys[i] != null && !(hashes[i] == hash && keys[i].equals(key))) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] != null) {
+                counts[i] += other.counts[j];
+                continue;
+            }
+            
+            keys[i] = key;
+            hashes[i] = hash;
+            counts[i] = other.counts[j];
+            if (++size > keys.length * LOAD_FACTOR) {
+                resize(keys.length << 1);
+            }
+        }
+    }
+    
+    /**
+     * text[start, end) 단어가 있는지 여부
+     */
+    public boolean contains(String text, int start, int end) {
+        int hash = hash(text, start, end);
+        int i = slot(hash);
+        while (keys[i] != null) {
+            if (hashes[i] == hash && matches(keys[i], text, start, end)) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+    
+    /**
+     * 단어의 횟수 (없으면 0)
+     */
+    public int get(String word) {
+        int hash = hash(word, 0, word.length());
+        int i = slot(hash);
+        while (keys[i] != null) {
+            if (hashes[i] == hash && matches(keys[i], word, 0, word.length())) {
+                return counts[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public void forEach(ObjIntConsumer<String> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], counts[i]);
+            }
+        }
+    }
+    
+    /**
+     * 횟수 상위 k개를 횟수 내림차순(같으면 단어 오름차순)으로 전달
+     *
+     * 전체 어휘를 정렬하지 않고 크기 k의 최소 힙(루트가 k개 중 가장 약한 단어)으로 고른다.
+     */
+    public void top(int k, ObjIntConsumer<String> action) {
+        if (k <= 0) {
+            return;
+        }
+        
+        int[] heap = new int[Math.min(k, size)];
+        int heapSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                continue;
+            }
+            if (heapSize < heap.length) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++);
+            } else if (heapSize > 0 && weaker(heap[0], i)) {
+                heap[0] = i;
+                siftDown(heap, heapSize);
+            }
+        }
+        
+        // 가장 약한 것부터 꺼내 뒤에서부터 채우면 강한 순서가 됨
+        int[] ordered = new int[heapSize];
+        for (int n = heapSize; n > 0; n--) {
+            ordered[n - 1] = heap[0];
+            heap[0] = heap[n - 1];
+            siftDown(heap, n - 1);
+        }
+        for (int slot : ordered) {
+            action.accept(keys[slot], counts[slot]);
+        }
+    }
+    
+    // a가 b보다 약한지 (횟수가 적거나, 같으면 사전순으로 뒤)
+    private boolean weaker(int a, int b) {
+        if (counts[a] != counts[b]) {
+            return counts[a] < counts[b];
+        }
+        return keys[a].compareTo(keys[b]) > 0;
+    }
+    
+    private void siftUp(int[] heap, int index) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!weaker(item, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = item;
+    }
+    
+    private void siftDown(int[] heap, int heapSize) {
+        int index = 0;
+        int item = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && weaker(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!weaker(heap[child], item)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+    
+    // String.hashCode와 같은 방식 (ASCII 대문자는 소문자로 접어서 계산)
+    private static int hash(String text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + foldChar(text.charAt(i));
+        }
+        return h;
+    }
+    
+    private static boolean matches(String key, String text, int start, int end) {
+        if (key.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != foldChar(text.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static String fold(String text, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = foldChar(text.charAt(i));
+        }
+        return new String(chars);
+    }
+    
+    private static char foldChar(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+    
+    private int slot(int hash) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+    
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int[] oldCounts = counts;
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == null) {
+                continue;
+            }
+            int i = slot(oldHashes[j]);
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            hashes[i] = oldHashes[j];
+            counts[i] = oldCounts[j];
+        }
+    }
+}
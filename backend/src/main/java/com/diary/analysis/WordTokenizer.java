@@ -0,0 +1,114 @@
+package com.diary.analysis;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 일기 본문 단어 분리기
+ *
+ * 기존 통계 규칙과 같은 결과를 정규식 없이 한 번의 문자 순회로 만든다.
+ * <ul>
+ *   <li>공백(\s: 스페이스, 탭, 줄바꿈, \u000B, 폼피드, 캐리지 리턴)으로 분리</li>
+ *   <li>1글자, 숫자로만 된 단어, 불용어 제외 (색인용으로는 최대 길이 초과 단어도 제외)</li>
+ *   <li>단일 보충 문자(이모지 등)는 [^\w가-힣] 한 글자와 같으므로 제외</li>
+ *   <li>단어는 String.toLowerCase()로 통일 (ASCII/대소문자 없는 문자만 있으면 문자열을 만들지 않고 직접 접음)</li>
+ * </ul>
+ */
+public final class WordTokenizer {
+    
+    // 단어 색인 키(user_word_counts.word VARCHAR(100))로 저장할 수 있는 최대 단어 길이
+    public static final int MAX_WORD_LENGTH = 100;
+    
+    // 기본 로케일 소문자 변환에서 ASCII 'I'가 'i'가 아닌 언어
+    private static final Set<String> SPECIAL_CASING_LANGUAGES = Set.of("tr", "az", "lt");
+    
+    private WordTokenizer() {}
+    
+    /**
+     * 텍스트의 단어를 counter에 누적 (길이 제한 없음)
+     */
+    public static void tokenize(String text, WordCounter counter) {
+        tokenize(text, counter, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * 텍스트의 단어를 counter에 누적 (maxLength자를 넘는 단어는 제외)
+     */
+    public static void tokenize(String text, WordCounter counter, int maxLength) {
+        if (text == null) {
+            return;
+        }
+        
+        boolean foldAsciiUpper = !SPECIAL_CASING_LANGUAGES.contains(Locale.getDefault().getLanguage());
+        int length = text.length();
+        int i = 0;
+        
+        while (i < length) {
+            while (i < length && isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            
+            int start = i;
+            boolean digits = true;
+            boolean simple = true;
+            while (i < length) {
+                char c = text.charAt(i);
+                if (isWhitespace(c)) {
+                    break;
+                }
+                if (digits && (c < '0' || c > '9')) {
+                    digits = false;
+                }
+                if (simple && !isSimple(c, foldAsciiUpper)) {
+                    simple = false;
+                }
+                i++;
+            }
+            
+            accept(text, start, i, digits, simple, maxLength, counter);
+        }
+    }
+    
+    private static void accept(String text, int start, int end, boolean digits, boolean simple, int maxLength,
+                               WordCounter counter) {
+        int length = end - start;
+        if (length <= 1 || length > maxLength || digits) {
+            return;
+        }
+        if (length == 2 && Character.isHighSurrogate(text.charAt(start)) && Character.isLowSurrogate(text.charAt(start + 1))) {
+            return;
+        }
+        
+        if (simple) {
+            if (!StopWords.contains(text, start, end)) {
+                counter.increment(text, start, end);
+            }
+            return;
+        }
+        
+        // 특수한 대소문자 규칙이 있을 수 있는 문자가 섞인 단어만 문자열을 만들어 변환
+        String lowered = text.substring(start, end).toLowerCase();
+        if (!StopWords.contains(lowered, 0, lowered.length())) {
+            counter.increment(lowered, 0, lowered.length());
+        }
+    }
+    
+    // 정규식 \s와 같은 문자 집합
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+    
+    // ASCII 대문자를 더해 주는 것만으로 toLowerCase()와 같은 결과가 나오는 문자인지
+    private static boolean isSimple(char c, boolean foldAsciiUpper) {
+        if (c < 0x80) {
+            return foldAsciiUpper || c < 'A' || c > 'Z';
+        }
+        if (c >= 0xAC00 && c <= 0xD7A3) {
+            return true; // 한글 음절
+        }
+        return !Character.isSurrogate(c) && Character.toLowerCase(c) == c && Character.toUpperCase(c) == c;
+    }
+}
@@ -0,0 +1,112 @@
+package com.diary.cache;
+
+import com.diary.dto.CalendarDTO;
+import com.diary.service.DiaryChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 사용자/연도별 달력 히트맵 캐시
+ *
+ * 사용자마다 연도별 결과를 묶어 두고, DiaryChangedEvent가 커밋되면 그 사용자의 모든 연도를 버린다.
+ * 조회 도중 무효화되었으면(묶음이 바뀌었으면) 결과를 반환만 하고 저장하지 않는다.
+ * 사용자 수가 최대 크기를 넘으면 가장 오래 사용되지 않은 사용자부터 제거한다(LRU).
+ */
+@Component
+public class CalendarCache {
+    
+    private final int maxUsers;
+    
+    // 접근 순서 기반 LinkedHashMap (LRU), 값은 사용자별 연도 → 달력
+    private final LinkedHashMap<Long, Map<Integer, CalendarDTO>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public CalendarCache(@Value("${statistics.calendar-cache.max-users:10000}") int maxUsers) {
+        this.maxUsers = maxUsers;
+    }
+    
+    /**
+     * 달력 조회, 없으면 loader로 계산하여 저장
+     */
+    public CalendarDTO get(Long userId, int year, Supplier<CalendarDTO> loader) {
+        Map<Integer, CalendarDTO> years;
+        synchronized (entries) {
+            years = entries.get(userId);
+            if (years == null) {
+                years = new HashMap<>();
+                entries.put(userId, years);
+                evictOverflow();
+            }
+            CalendarDTO calendar = years.get(year);
+            if (calendar != null) {
+                hits.incrementAndGet();
+                return calendar;
+            }
+        }
+        
+        misses.incrementAndGet();
+        CalendarDTO calendar = loader.get();
+        synchronized (entries) {
+            // 그 사이 무효화/제거되었으면 커밋 전 데이터일 수 있으므로 저장하지 않음
+            if (entries.get(userId) == years) {
+                years.put(year, calendar);
+            }
+        }
+        return calendar;
+    }
+    
+    /**
+     * 사용자의 모든 연도 무효화
+     */
+    public void invalidate(Long userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+    
+    /**
+     * 일기 쓰기가 커밋되면 무효화 (트랜잭션 밖에서 발행된 경우 바로 처리)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    public long getHitCount() {
+        return hits.get();
+    }
+    
+    public long getMissCount() {
+        return misses.get();
+    }
+    
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+    
+    private void evictOverflow() {
+        Iterator<Map.Entry<Long, Map<Integer, CalendarDTO>>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxUsers && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+}
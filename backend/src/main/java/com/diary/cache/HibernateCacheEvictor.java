@@ -0,0 +1,58 @@
+package com.diary.cache;
+
+import com.diary.entity.Diary;
+import com.diary.repository.DiaryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Hibernate를 거치지 않은 쓰기(JdbcTemplate)의 2차 캐시 무효화
+ *
+ * 엔티티 저장/삭제와 JPQL·네이티브 DML은 Hibernate가 캐시를 갱신하지만,
+ * JDBC로 직접 쓴 diaries 행은 알 수 없으므로 커밋 후 관련 영역을 비운다.
+ * 2차 캐시를 쓰지 않으면 아무 일도 하지 않는다.
+ */
+@Component
+public class HibernateCacheEvictor {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    /**
+     * 일기 행이 추가된 경우 (개수/목록 쿼리 캐시만 비움)
+     */
+    public void diariesInserted() {
+        afterCommit(cache -> cache.evictQueryRegion(DiaryRepository.QUERY_CACHE_REGION));
+    }
+    
+    /**
+     * 기존 일기 행이 수정된 경우 (엔티티 캐시와 쿼리 캐시 모두 비움)
+     */
+    public void diariesUpdated() {
+        afterCommit(cache -> {
+            cache.evictEntityData(Diary.class);
+            cache.evictQueryRegion(DiaryRepository.QUERY_CACHE_REGION);
+        });
+    }
+    
+    private void afterCommit(Consumer<Cache> eviction) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.accept(cache);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.accept(cache);
+            }
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package com.diary.cache;
+
+import com.diary.dto.StatisticsDTO;
+import com.diary.service.DiaryChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 통계 스냅샷 캐시
+ *
+ * 통계는 사용자가 일기를 쓸 때만 바뀌므로 계산 결과를 보관하고, DiaryChangedEvent가 커밋되면 해당 사용자 항목을 버린다.
+ * 다음 조회 때 다시 계산하며, 같은 사용자에 대한 동시 요청은 하나의 계산(single-flight)을 기다린다.
+ * 계산 도중 무효화되면 그 결과는 반환만 하고 저장하지 않아, 커밋 전 데이터로 만든 스냅샷이 남지 않는다.
+ * 크기 제한(LRU)을 넘으면 가장 오래 사용되지 않은 스냅샷부터 제거한다.
+ */
+@Component
+public class StatisticsSnapshotCache {
+    
+    private final int maxSize;
+    
+    // 접근 순서 기반 LinkedHashMap (LRU)
+    private final LinkedHashMap<Long, StatisticsDTO> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    
+    // 사용자별 진행 중인 계산
+    private final ConcurrentHashMap<Long, Flight> inFlight = new ConcurrentHashMap<>();
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public StatisticsSnapshotCache(@Value("${statistics.snapshot-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+    
+    /**
+     * 저장된 스냅샷 조회 (없으면 null, 계산하지 않음)
+     */
+    public StatisticsDTO peek(Long userId) {
+        synchronized (snapshots) {
+            return snapshots.get(userId);
+        }
+    }
+    
+    /**
+     * 스냅샷 조회, 없으면 loader로 계산
+     * 다른 요청이 이미 계산 중이면 그 결과를 기다린다. 그 계산이 취소되면(요청 연결 끊김 등) 다시 시도한다.
+     */
+    public StatisticsDTO get(Long userId, Supplier<StatisticsDTO> loader) {
+        while (true) {
+            StatisticsDTO snapshot = peek(userId);
+            if (snapshot != null) {
+                hits.incrementAndGet();
+                return snapshot;
+            }
+            
+            Flight flight = new Flight();
+            Flight existing = inFlight.putIfAbsent(userId, flight);
+            if (existing == null) {
+                misses.incrementAndGet();
+                return load(userId, flight, loader);
+            }
+            
+            coalesced.incrementAndGet();
+            try {
+                return existing.result.join();
+            } catch (CancellationException e) {
+                // 앞선 계산이 취소됨 - 다시 시도
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof CancellationException) {
+                    continue;
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * 사용자 스냅샷 무효화 (진행 중인 계산 결과도 저장하지 않음)
+     */
+    public void invalidate(Long userId) {
+        synchronized (snapshots) {
+            snapshots.remove(userId);
+            Flight flight = inFlight.remove(userId);
+            if (flight != null) {
+                flight.stale = true;
+            }
+        }
+        invalidations.incrementAndGet();
+    }
+    
+    /**
+     * 일기 쓰기가 커밋되면 무효화 (트랜잭션 밖에서 발행된 경우 바로 처리)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+    
+    private StatisticsDTO load(Long userId, Flight flight, Supplier<StatisticsDTO> loader) {
+        StatisticsDTO snapshot;
+        try {
+            snapshot = loader.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(userId, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        
+        synchronized (snapshots) {
+            if (!flight.stale) {
+                snapshots.put(userId, snapshot);
+                Iterator<Map.Entry<Long, StatisticsDTO>> iterator = snapshots.entrySet().iterator();
+                while (snapshots.size() > maxSize && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+            inFlight.remove(userId, flight);
+        }
+        flight.result.complete(snapshot);
+        return snapshot;
+    }
+    
+    public int size() {
+        synchronized (snapshots) {
+            return snapshots.size();
+        }
+    }
+    
+    public long getHitCount() {
+        return hits.get();
+    }
+    
+    public long getMissCount() {
+        return misses.get();
+    }
+    
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+    
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+    
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+    
+    /**
+     * 진행 중인 계산 (stale은 snapshots 잠금 안에서만 읽고 씀)
+     */
+    private static class Flight {
+        private final CompletableFuture<StatisticsDTO> result = new CompletableFuture<>();
+        private boolean stale;
+    }
+}
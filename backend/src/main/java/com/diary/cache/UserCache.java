@@ -0,0 +1,158 @@
+package com.diary.cache;
+
+import com.diary.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 임시 ID → 사용자 조회 캐시
+ *
+ * 모든 API 요청이 getOrCreateUser를 거치므로 users 테이블 SELECT를 줄이기 위해
+ * 크기 제한(LRU)과 TTL을 가진 인메모리 캐시를 둔다.
+ * 캐시에는 엔티티가 아닌 스냅샷만 저장하고, 조회 시마다 분리(detached)된 새 User를 만들어 반환한다.
+ */
+@Component
+public class UserCache {
+    
+    private final int maxSize;
+    private final long ttlMillis;
+    
+    // 접근 순서 기반 LinkedHashMap (LRU)
+    private final LinkedHashMap<String, Entry> entries;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public UserCache(@Value("${user-cache.max-size:10000}") int maxSize,
+                     @Value("${user-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+    
+    /**
+     * 캐시 조회 (만료된 항목은 제거 후 miss 처리)
+     */
+    public Optional<User> get(String tempId) {
+        if (tempId == null) {
+            return Optional.empty();
+        }
+        
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(tempId);
+            if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+                entries.remove(tempId);
+                evictions.incrementAndGet();
+                entry = null;
+            }
+        }
+        
+        if (entry == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        
+        hits.incrementAndGet();
+        return Optional.of(entry.toUser());
+    }
+    
+    /**
+     * 캐시 저장 (최대 크기 초과 시 가장 오래 사용되지 않은 항목 제거)
+     */
+    public void put(User user) {
+        if (user == null || user.getId() == null || user.getTempId() == null) {
+            return;
+        }
+        
+        Entry entry = new Entry(user, System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(user.getTempId(), entry);
+            
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+    
+    /**
+     * 캐시 무효화 (users 행을 직접 바꾸거나 지운 경우 호출)
+     */
+    public void invalidate(String tempId) {
+        if (tempId == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(tempId);
+        }
+    }
+    
+    /**
+     * 전체 캐시 비우기
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    public long getHitCount() {
+        return hits.get();
+    }
+    
+    public long getMissCount() {
+        return misses.get();
+    }
+    
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+    
+    /**
+     * 캐시에 저장되는 사용자 스냅샷
+     */
+    private static class Entry {
+        private final Long id;
+        private final String tempId;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime lastAccessedAt;
+        private final long expiresAt;
+        
+        Entry(User user, long expiresAt) {
+            this.id = user.getId();
+            this.tempId = user.getTempId();
+            this.createdAt = user.getCreatedAt();
+            this.lastAccessedAt = user.getLastAccessedAt();
+            this.expiresAt = expiresAt;
+        }
+        
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+        
+        User toUser() {
+            User user = new User(tempId);
+            user.setId(id);
+            user.setCreatedAt(createdAt);
+            user.setLastAccessedAt(lastAccessedAt);
+            return user;
+        }
+    }
+}
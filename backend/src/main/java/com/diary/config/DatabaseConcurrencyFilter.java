@@ -0,0 +1,136 @@
+package com.diary.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DB를 쓰는 API 요청의 동시 실행 수 제한
+ *
+ * 가상 스레드 모드에서는 요청 스레드 수에 상한이 없으므로, 커넥션 풀 크기보다 조금 작게 허가 수를 두어
+ * 나머지 요청은 (가상 스레드를 점유하지 않는) 세마포어에서 기다리게 하고
+ * 대기 시간을 넘기면 커넥션 타임아웃까지 끌지 않고 503으로 응답한다.
+ * 비동기 응답(내보내기 스트리밍)은 응답이 끝날 때 허가를 반납한다.
+ */
+public class DatabaseConcurrencyFilter extends OncePerRequestFilter {
+    
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMillis;
+    private final ObjectMapper objectMapper;
+    
+    private final AtomicLong rejected = new AtomicLong();
+    
+    public DatabaseConcurrencyFilter(int maxConcurrent, long acquireTimeoutMillis, ObjectMapper objectMapper) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // 이미지 업로드/조회는 파일 I/O만 하므로 제한하지 않음
+        return request.getRequestURI().startsWith(request.getContextPath() + "/api/files/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        
+        if (!acquired) {
+            rejected.incrementAndGet();
+            writeBusy(response);
+            return;
+        }
+        
+        boolean releaseOnComplete = false;
+        try {
+            filterChain.doFilter(request, response);
+            
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener());
+                releaseOnComplete = true;
+            }
+        } finally {
+            if (!releaseOnComplete) {
+                permits.release();
+            }
+        }
+    }
+    
+    private void writeBusy(HttpServletResponse response) throws IOException {
+        Map<String, String> body = new HashMap<>();
+        body.put("error", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+    
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+    
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+    
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+    
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+    
+    /**
+     * 비동기 응답 완료 시 허가 반납 (오류/타임아웃 후에도 onComplete는 항상 호출됨)
+     */
+    private class ReleasingListener implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.diary.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+
+/**
+ * 요청 실행 모드 설정
+ *
+ * spring.threads.virtual.enabled=true(Java 21 이상)이면 Spring Boot가 Tomcat 요청 처리와
+ * 비동기 응답, 예약 작업을 가상 스레드에서 실행한다. 이때 DB 동시 접근은
+ * DatabaseConcurrencyFilter가 커넥션 풀 크기에 맞춰 제한한다.
+ * 허가 하나가 커넥션 둘을 쓰는 경우(접근 시간 flush의 REQUIRES_NEW 트랜잭션, 스트리밍 통계 집계 작업)가 있으므로
+ * 허가 수는 풀 크기에서 connection-headroom을 뺀 값으로 둔다.
+ */
+@Configuration
+public class ExecutionModeConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeConfig.class);
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+    
+    /**
+     * DB 동시 실행 제한 필터 (db-concurrency.enabled, 기본값은 가상 스레드 모드 여부)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "db-concurrency.enabled", havingValue = "true")
+    public FilterRegistrationBean<DatabaseConcurrencyFilter> databaseConcurrencyFilter(
+            @Value("${db-concurrency.max-concurrent:0}") int maxConcurrent,
+            @Value("${db-concurrency.connection-headroom:2}") int connectionHeadroom,
+            @Value("${db-concurrency.acquire-timeout-ms:5000}") long acquireTimeoutMillis,
+            ObjectMapper objectMapper) {
+        // 지정하지 않으면 커넥션 풀 크기에서 요청 하나가 추가로 쓰는 커넥션 몫을 뺀 만큼 허용
+        int permits = maxConcurrent > 0 ? maxConcurrent : Math.max(1, poolSize - connectionHeadroom);
+        
+        FilterRegistrationBean<DatabaseConcurrencyFilter> registration = new FilterRegistrationBean<>(
+                new DatabaseConcurrencyFilter(permits, acquireTimeoutMillis, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void logExecutionMode() {
+        int feature = Runtime.version().feature();
+        if (virtualThreads && feature < 21) {
+            log.warn("가상 스레드 모드는 Java 21 이상이 필요합니다 (현재 Java {}). 플랫폼 스레드로 실행합니다.", feature);
+        } else {
+            log.info("요청 실행 모드: {} 스레드, 커넥션 풀 {}개", virtualThreads ? "가상" : "플랫폼", poolSize);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.diary.config;
+
+import com.diary.cache.CalendarCache;
+import com.diary.cache.StatisticsSnapshotCache;
+import com.diary.cache.UserCache;
+import com.diary.search.NgramSearchEngine;
+import com.diary.search.TitleSuggestIndex;
+import com.diary.search.ShardReport;
+import com.diary.service.FileService;
+import com.diary.service.ImageDerivativeService;
+import com.diary.service.ImageGarbageCollectJob;
+import com.diary.service.LastAccessWriteBehind;
+import com.diary.service.StreamingWordAnalyzer;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 운영 지표 설정 (/actuator/prometheus)
+ *
+ * HTTP 지연 시간(http.server.requests)과 리포지토리 메서드 시간(spring.data.repository.invocations)은
+ * Spring Boot가 기록하고, 여기서는 요청당 SQL/엔티티 로드 수와 각 컴포넌트가 이미 세고 있는 값을 등록한다.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    /**
+     * SQL 실행을 요청 스레드 카운터에 연결 (Hibernate와 JdbcTemplate 모두 DataSource를 거치므로 함께 셈)
+     */
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    /**
+     * Hibernate 엔티티 로드를 요청 스레드 카운터에 연결
+     */
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryStatsCustomizer() {
+        Integrator postLoadCounter = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                  SessionFactoryImplementor sessionFactory) {
+                sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class)
+                        .appendListeners(EventType.POST_LOAD, event -> RequestQueryStats.entityLoaded());
+            }
+            
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                     SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+        
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(postLoadCounter));
+    }
+    
+    /**
+     * 요청별 SQL 수 기록 및 예산 검사 (query-budget.max-statements가 0이면 기록만)
+     */
+    @Bean
+    public FilterRegistrationBean<RequestQueryMetricsFilter> requestQueryMetricsFilter(
+            MeterRegistry registry,
+            @Value("${query-budget.max-statements:10}") int maxStatements,
+            @Value("${query-budget.fail-on-exceed:false}") boolean failOnExceed,
+            @Value("${query-budget.exclude-paths:}") List<String> excludePaths,
+            @Value("${query-budget.fail-paths:/api/diaries/**,/api/statistics/**}") List<String> failPaths) {
+        FilterRegistrationBean<RequestQueryMetricsFilter> registration = new FilterRegistrationBean<>(
+                new RequestQueryMetricsFilter(registry, maxStatements, failOnExceed, excludePaths, failPaths));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+    
+    /**
+     * HTTP 요청 지표(http.server.requests)에 SQL 예산 초과 여부 태그 추가
+     */
+    @Bean
+    public DefaultServerRequestObservationConvention queryBudgetObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object overBudget = context.getCarrier().getAttribute(RequestQueryMetricsFilter.OVER_BUDGET_ATTRIBUTE);
+                return super.getLowCardinalityKeyValues(context)
+                        .and("over_budget", overBudget != null ? overBudget.toString() : "false");
+            }
+        };
+    }
+    
+    /**
+     * 사용자 캐시 / 접근 시간 write-behind
+     */
+    @Bean
+    public MeterBinder userMetrics(UserCache userCache, LastAccessWriteBehind lastAccess) {
+        return registry -> {
+            Gauge.builder("diary.user.cache.size", userCache, UserCache::size).register(registry);
+            FunctionCounter.builder("diary.user.cache.requests", userCache, UserCache::getHitCount)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("diary.user.cache.requests", userCache, UserCache::getMissCount)
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("diary.user.cache.evictions", userCache, UserCache::getEvictionCount)
+                    .register(registry);
+            
+            Gauge.builder("diary.user.access.buffer.size", lastAccess, LastAccessWriteBehind::getBufferSize)
+                    .register(registry);
+            FunctionCounter.builder("diary.user.access.recorded", lastAccess, LastAccessWriteBehind::getRecordedCount)
+                    .register(registry);
+            FunctionCounter.builder("diary.user.access.coalesced", lastAccess, LastAccessWriteBehind::getCoalescedCount)
+                    .register(registry);
+            FunctionCounter.builder("diary.user.access.flushed.rows", lastAccess, LastAccessWriteBehind::getFlushedRowCount)
+                    .register(registry);
+            FunctionCounter.builder("diary.user.access.flush.failures", lastAccess, LastAccessWriteBehind::getFailedFlushCount)
+                    .register(registry);
+            FunctionTimer.builder("diary.user.access.flush", lastAccess,
+                            LastAccessWriteBehind::getFlushCount,
+                            LastAccessWriteBehind::getTotalFlushNanos, TimeUnit.NANOSECONDS)
+                    .register(registry);
+        };
+    }
+    
+    /**
+     * 이미지 업로드/제공, 파생본 생성, 고아 이미지 정리
+     */
+    @Bean
+    public MeterBinder fileMetrics(FileService fileService, ImageDerivativeService derivatives,
+                                   ImageGarbageCollectJob garbageCollect) {
+        return registry -> {
+            FunctionCounter.builder("diary.file.uploaded", fileService, FileService::getStoredCount)
+                    .tag("result", "stored").register(registry);
+            FunctionCounter.builder("diary.file.uploaded", fileService, FileService::getDeduplicatedCount)
+                    .tag("result", "deduplicated").register(registry);
+            FunctionCounter.builder("diary.file.uploaded.bytes", fileService, FileService::getUploadedBytes)
+                    .baseUnit("bytes").register(registry);
+            FunctionCounter.builder("diary.file.served", fileService, FileService::getServedCount)
+                    .register(registry);
+            FunctionCounter.builder("diary.file.served.bytes", fileService, FileService::getServedBytes)
+                    .baseUnit("bytes").register(registry);
+            FunctionCounter.builder("diary.file.derivative.requests", fileService, FileService::getDerivativeHitCount)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("diary.file.derivative.requests", fileService, FileService::getDerivativeFallbackCount)
+                    .tag("result", "fallback").register(registry);
+            
+            Gauge.builder("diary.image.derivative.queue", derivatives, ImageDerivativeService::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("diary.image.derivative.active", derivatives, ImageDerivativeService::getActiveCount)
+                    .register(registry);
+            FunctionCounter.builder("diary.image.derivative.tasks", derivatives, ImageDerivativeService::getCompletedCount)
+                    .tag("result", "completed").register(registry);
+            FunctionCounter.builder("diary.image.derivative.tasks", derivatives, ImageDerivativeService::getRejectedCount)
+                    .tag("result", "rejected").register(registry);
+            FunctionCounter.builder("diary.image.derivative.tasks", derivatives, ImageDerivativeService::getFailedCount)
+                    .tag("result", "failed").register(registry);
+            
+            FunctionCounter.builder("diary.image.gc.deleted", garbageCollect, ImageGarbageCollectJob::getTotalDeletedFiles)
+                    .register(registry);
+            FunctionCounter.builder("diary.image.gc.reclaimed.bytes", garbageCollect, ImageGarbageCollectJob::getTotalReclaimedBytes)
+                    .baseUnit("bytes").register(registry);
+            Gauge.builder("diary.image.gc.last.scanned", garbageCollect, ImageGarbageCollectJob::getLastScannedFiles)
+                    .register(registry);
+            Gauge.builder("diary.image.gc.last.duration", garbageCollect, job -> job.getLastElapsedMillis() / 1000.0)
+                    .baseUnit("seconds").register(registry);
+        };
+    }
+    
+    /**
+     * n-gram 검색 샤드, 제목 자동완성 색인, 통계 스냅샷/달력 캐시, 스트리밍 단어 분석 풀, DB 동시 실행 제한
+     */
+    @Bean
+    public MeterBinder searchAndExecutionMetrics(NgramSearchEngine ngramSearchEngine,
+                                                 TitleSuggestIndex suggestIndex,
+                                                 StatisticsSnapshotCache snapshotCache,
+                                                 CalendarCache calendarCache,
+                                                 StreamingWordAnalyzer wordAnalyzer,
+                                                 ObjectProvider<FilterRegistrationBean<DatabaseConcurrencyFilter>> concurrency) {
+        return registry -> {
+            Gauge.builder("diary.search.ngram.shards", ngramSearchEngine, NgramSearchEngine::getShardCount)
+                    .register(registry);
+            // 스크랩마다 샤드별 읽기 잠금을 잡으므로 샤드 수에 비례하는 비용
+            Gauge.builder("diary.search.ngram.memory", ngramSearchEngine,
+                            engine -> engine.reports().stream().mapToLong(ShardReport::getEstimatedBytes).sum())
+                    .baseUnit("bytes").register(registry);
+            FunctionCounter.builder("diary.search.ngram.evictions", ngramSearchEngine, NgramSearchEngine::getEvictionCount)
+                    .register(registry);
+            
+            Gauge.builder("diary.search.suggest.users", suggestIndex, TitleSuggestIndex::getUserCount)
+                    .register(registry);
+            FunctionCounter.builder("diary.search.suggest.builds", suggestIndex, TitleSuggestIndex::getBuildCount)
+                    .register(registry);
+            FunctionCounter.builder("diary.search.suggest.evictions", suggestIndex, TitleSuggestIndex::getEvictionCount)
+                    .register(registry);
+            
+            Gauge.builder("diary.statistics.snapshots.size", snapshotCache, StatisticsSnapshotCache::size)
+                    .register(registry);
+            FunctionCounter.builder("diary.statistics.snapshots.requests", snapshotCache, StatisticsSnapshotCache::getHitCount)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("diary.statistics.snapshots.requests", snapshotCache, StatisticsSnapshotCache::getMissCount)
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("diary.statistics.snapshots.requests", snapshotCache, StatisticsSnapshotCache::getCoalescedCount)
+                    .tag("result", "coalesced").register(registry);
+            FunctionCounter.builder("diary.statistics.snapshots.invalidations", snapshotCache, StatisticsSnapshotCache::getInvalidationCount)
+                    .register(registry);
+            FunctionCounter.builder("diary.statistics.snapshots.evictions", snapshotCache, StatisticsSnapshotCache::getEvictionCount)
+                    .register(registry);
+            
+            Gauge.builder("diary.statistics.calendar.users", calendarCache, CalendarCache::size)
+                    .register(registry);
+            FunctionCounter.builder("diary.statistics.calendar.requests", calendarCache, CalendarCache::getHitCount)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("diary.statistics.calendar.requests", calendarCache, CalendarCache::getMissCount)
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("diary.statistics.calendar.evictions", calendarCache, CalendarCache::getEvictionCount)
+                    .register(registry);
+            
+            Gauge.builder("diary.statistics.analysis.active", wordAnalyzer, StreamingWordAnalyzer::getActiveThreadCount)
+                    .register(registry);
+            
+            FilterRegistrationBean<DatabaseConcurrencyFilter> registration = concurrency.getIfAvailable();
+            if (registration != null) {
+                DatabaseConcurrencyFilter filter = registration.getFilter();
+                Gauge.builder("diary.db.concurrency.max", filter, DatabaseConcurrencyFilter::getMaxConcurrent)
+                        .register(registry);
+                Gauge.builder("diary.db.concurrency.active", filter, DatabaseConcurrencyFilter::getActiveCount)
+                        .register(registry);
+                Gauge.builder("diary.db.concurrency.waiting", filter, DatabaseConcurrencyFilter::getWaitingCount)
+                        .register(registry);
+                FunctionCounter.builder("diary.db.concurrency.rejected", filter, DatabaseConcurrencyFilter::getRejectedCount)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.diary.config;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 요청 스레드 SQL 카운터(RequestQueryStats)에 연결한 DataSource
+ *
+ * Hibernate뿐 아니라 JdbcTemplate(단어 색인/월별 카운터 upsert, 일괄 가져오기 등)이 실행한 SQL도 같은 예산으로 센다.
+ * PreparedStatement/CallableStatement는 준비할 때 한 번, 일반 Statement는 SQL을 넘겨 실행하거나 batch에 추가할 때마다 센다.
+ * (batch로 묶인 PreparedStatement는 실행 행 수와 관계없이 한 번)
+ */
+class QueryCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+    
+    QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(obtainTargetDataSource().getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(obtainTargetDataSource().getConnection(username, password));
+    }
+    
+    /**
+     * 커넥션 풀(HikariDataSource) 종료 위임 (빈 소멸 시 호출)
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable) {
+            ((AutoCloseable) obtainTargetDataSource()).close();
+        }
+    }
+    
+    private static Connection counting(Connection target) {
+        return (Connection) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "getTargetConnection":
+                            return target;
+                        case "prepareStatement":
+                        case "prepareCall":
+                            RequestQueryStats.statementExecuted((String) args[0]);
+                            return invoke(target, method, args);
+                        case "createStatement":
+                            return counting((Statement) invoke(target, method, args));
+                        default:
+                            return invoke(target, method, args);
+                    }
+                });
+    }
+    
+    private static Statement counting(Statement target) {
+        return (Statement) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Statement.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (name.equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if ((name.startsWith("execute") || name.equals("addBatch")) && args != null && args[0] instanceof String) {
+                        RequestQueryStats.statementExecuted((String) args[0]);
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
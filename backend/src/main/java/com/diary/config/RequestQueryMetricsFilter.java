@@ -0,0 +1,107 @@
+package com.diary.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 요청별 SQL 실행 수/엔티티 로드 수 기록 및 SQL 예산 검사
+ *
+ * 엔드포인트(URI 패턴)별 분포로 남겨 N+1 쿼리처럼 요청당 쿼리 수가 늘어나는 변경을 드러낸다.
+ * 예산을 넘은 요청은 실행된 SQL 형태와 함께 경고 로그를 남기고, 지표에 over_budget 태그를 붙인다.
+ * 실패 모드(query-budget.fail-on-exceed)에서는 fail-paths 요청이 예산을 넘는 순간 SQL 실행이 예외로 중단된다.
+ * 비동기 요청은 요청 스레드에서 실행된 부분만 센다.
+ */
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+    
+    /**
+     * 예산 초과 여부 요청 속성 (Boolean, HTTP 지표 태그에 사용)
+     */
+    public static final String OVER_BUDGET_ATTRIBUTE = RequestQueryMetricsFilter.class.getName() + ".OVER_BUDGET";
+    
+    private static final Logger log = LoggerFactory.getLogger(RequestQueryMetricsFilter.class);
+    
+    private static final int LOGGED_SHAPES = 10;
+    
+    private final MeterRegistry registry;
+    private final int budget;
+    private final boolean failOnExceed;
+    private final List<String> excludePaths;
+    private final List<String> failPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    
+    public RequestQueryMetricsFilter(MeterRegistry registry, int budget, boolean failOnExceed,
+                                     List<String> excludePaths, List<String> failPaths) {
+        this.registry = registry;
+        this.budget = budget;
+        this.failOnExceed = failOnExceed;
+        this.excludePaths = excludePaths;
+        this.failPaths = failPaths;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        int requestBudget = matches(excludePaths, path) ? 0 : budget;
+        boolean fail = failOnExceed && matches(failPaths, path);
+        
+        RequestQueryStats stats = RequestQueryStats.begin(requestBudget, fail);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            request.setAttribute(OVER_BUDGET_ATTRIBUTE, stats.isOverBudget());
+            record(request, stats);
+        }
+    }
+    
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String overBudget = String.valueOf(stats.isOverBudget());
+        
+        if (stats.isOverBudget()) {
+            log.warn("요청당 SQL 예산 초과: {} {} - SQL {}건 (예산 {}), 엔티티 로드 {}건\n  {}",
+                    request.getMethod(), uri, stats.getStatements(), stats.getBudget(), stats.getEntityLoads(),
+                    String.join("\n  ", SqlShapes.summarize(stats.getSqlCounts(), LOGGED_SHAPES)));
+        }
+        
+        DistributionSummary.builder("diary.request.statements")
+                .description("요청당 실행된 SQL 수")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("over_budget", overBudget)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("diary.request.entity.loads")
+                .description("요청당 로드된 엔티티 수")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("over_budget", overBudget)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(stats.getEntityLoads());
+    }
+    
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,101 @@
+package com.diary.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 요청 처리 스레드별 SQL 실행/엔티티 로드 횟수
+ *
+ * RequestQueryMetricsFilter가 요청 시작 시 begin, 끝날 때 end를 호출하고,
+ * 그 사이 같은 스레드에서 실행된 SQL은 QueryCountingDataSource가(Hibernate, JdbcTemplate 모두),
+ * 로드된 엔티티는 Hibernate 콜백이 센다.
+ * 요청 밖(예약 작업, 별도 실행기)에서 실행된 쿼리는 세지 않는다.
+ */
+final class RequestQueryStats {
+    
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+    
+    // 예산 초과 로그에 남길 SQL 종류 수 상한 (같은 SQL은 횟수만 증가)
+    private static final int MAX_TRACKED_SQL = 64;
+    
+    private final int budget;
+    private final boolean failOnExceed;
+    
+    private int statements;
+    private int entityLoads;
+    private Map<String, Integer> sqlCounts;
+    
+    private RequestQueryStats(int budget, boolean failOnExceed) {
+        this.budget = budget;
+        this.failOnExceed = failOnExceed;
+    }
+    
+    /**
+     * 요청 시작 (budget이 0 이하면 예산 없음)
+     */
+    static RequestQueryStats begin(int budget, boolean failOnExceed) {
+        RequestQueryStats stats = new RequestQueryStats(budget, failOnExceed);
+        CURRENT.set(stats);
+        return stats;
+    }
+    
+    static void end() {
+        CURRENT.remove();
+    }
+    
+    /**
+     * SQL 실행 기록
+     *
+     * @throws IllegalStateException 예산 초과 시 실패 모드(테스트용)인 경우
+     */
+    static void statementExecuted(String sql) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        
+        stats.statements++;
+        if (stats.budget > 0) {
+            if (stats.sqlCounts == null) {
+                stats.sqlCounts = new HashMap<>();
+            }
+            if (stats.sqlCounts.size() < MAX_TRACKED_SQL || stats.sqlCounts.containsKey(sql)) {
+                stats.sqlCounts.merge(sql, 1, Integer::sum);
+            }
+            if (stats.failOnExceed && stats.statements > stats.budget) {
+                throw new IllegalStateException(
+                        "요청당 SQL 예산(" + stats.budget + ")을 초과했습니다: " + SqlShapes.normalize(sql));
+            }
+        }
+    }
+    
+    static void entityLoaded() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+    
+    int getStatements() {
+        return statements;
+    }
+    
+    int getEntityLoads() {
+        return entityLoads;
+    }
+    
+    int getBudget() {
+        return budget;
+    }
+    
+    boolean isOverBudget() {
+        return budget > 0 && statements > budget;
+    }
+    
+    /**
+     * 실행된 SQL (원문 → 횟수)
+     */
+    Map<String, Integer> getSqlCounts() {
+        return sqlCounts != null ? sqlCounts : Map.of();
+    }
+}
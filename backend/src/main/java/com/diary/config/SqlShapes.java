@@ -0,0 +1,45 @@
+package com.diary.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 형태 요약 (리터럴과 IN 목록 길이를 지워 같은 쿼리를 하나로 묶음)
+ */
+final class SqlShapes {
+    
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private static final int MAX_LENGTH = 300;
+    
+    private SqlShapes() {}
+    
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return shape.length() > MAX_LENGTH ? shape.substring(0, MAX_LENGTH) + "..." : shape;
+    }
+    
+    /**
+     * 형태별 실행 횟수를 많은 순으로 limit개까지 "횟수x SQL" 형식으로 반환
+     */
+    static List<String> summarize(Map<String, Integer> sqlCounts, int limit) {
+        Map<String, Integer> shapes = new LinkedHashMap<>();
+        sqlCounts.forEach((sql, count) -> shapes.merge(normalize(sql), count, Integer::sum));
+        
+        List<String> lines = new ArrayList<>();
+        shapes.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(entry -> lines.add(entry.getValue() + "x " + entry.getKey()));
+        return lines;
+    }
+}
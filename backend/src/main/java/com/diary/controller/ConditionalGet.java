@@ -0,0 +1,46 @@
+package com.diary.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * 사용자 데이터 조회 응답의 조건부 GET 처리
+ *
+ * 응답은 X-Temp-Id별로 다르므로 private + Vary로 내려주고, 브라우저가 매번 ETag로 재검증하게 한다.
+ */
+final class ConditionalGet {
+    
+    private static final String TEMP_ID_HEADER = "X-Temp-Id";
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
+    private ConditionalGet() {}
+    
+    /**
+     * If-None-Match가 ETag와 일치하면 304 상태와 캐시 헤더를 설정하고 true 반환
+     * (true면 컨트롤러는 null을 반환하여 본문 없이 응답)
+     */
+    static boolean notModified(ServletWebRequest webRequest, String eTag) {
+        if (!webRequest.checkNotModified(eTag)) {
+            return false;
+        }
+        
+        HttpServletResponse response = webRequest.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+            response.setHeader(HttpHeaders.VARY, TEMP_ID_HEADER);
+        }
+        return true;
+    }
+    
+    /**
+     * 200 응답 (ETag 헤더는 checkNotModified가 이미 설정)
+     */
+    static ResponseEntity.BodyBuilder ok() {
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .varyBy(TEMP_ID_HEADER);
+    }
+}
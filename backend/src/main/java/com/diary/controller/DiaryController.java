@@ -1,18 +1,36 @@
 package com.diary.controller;
 
+import com.diary.dto.CursorPage;
 import com.diary.dto.DiaryDTO;
+import com.diary.dto.DiarySummaryDTO;
+import com.diary.dto.TitleSuggestionDTO;
 import com.diary.entity.User;
+import com.diary.search.NgramField;
+import com.diary.search.NgramSearchEngine;
+import com.diary.search.ShardReport;
+import com.diary.search.TitleSuggestIndex;
+import com.diary.dto.ImportResultDTO;
+import com.diary.service.DiaryExportService;
+import com.diary.service.DiaryImportService;
+import com.diary.service.DataVersionService;
 import com.diary.service.DiaryService;
 import com.diary.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -27,33 +45,73 @@ public class DiaryController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private NgramSearchEngine ngramSearchEngine;
+    
+    @Autowired
+    private DiaryExportService diaryExportService;
+    
+    @Autowired
+    private DiaryImportService diaryImportService;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private TitleSuggestIndex titleSuggestIndex;
+    
     /**
-     * 일기 목록 조회
+     * 일기 목록 조회 (요약, 전체 본문은 상세 조회에서만 제공)
+     * cursor 파라미터가 있으면 커서 모드(전체 개수 없이 nextCursor 반환), 빈 값이면 첫 페이지
+     * If-None-Match가 사용자 데이터 버전과 같으면 일기를 조회하지 않고 304
      */
     @GetMapping
-    public ResponseEntity<Page<DiaryDTO>> getDiaries(
+    public ResponseEntity<?> getDiaries(
             @RequestHeader(value = "X-Temp-Id", required = false) String tempId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            ServletWebRequest webRequest) {
         
         User user = userService.getOrCreateUser(tempId);
-        Page<DiaryDTO> diaries = diaryService.getDiaries(user, page, size);
+        if (ConditionalGet.notModified(webRequest, dataVersionService.getETag(user))) {
+            return null;
+        }
         
-        return ResponseEntity.ok(diaries);
+        if (cursor != null) {
+            try {
+                CursorPage<DiarySummaryDTO> diaries = diaryService.getDiariesByCursor(user, cursor, size);
+                return ConditionalGet.ok().body(diaries);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
+        
+        Page<DiarySummaryDTO> diaries = diaryService.getDiaries(user, page, size);
+        
+        return ConditionalGet.ok().body(diaries);
     }
     
     /**
      * 일기 상세 조회
+     * If-None-Match는 사용자 데이터 버전으로 일기 조회 전에 판단하고, Last-Modified는 수정 시각
      */
     @GetMapping("/{id}")
     public ResponseEntity<DiaryDTO> getDiary(
             @RequestHeader(value = "X-Temp-Id", required = false) String tempId,
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            ServletWebRequest webRequest) {
         
         User user = userService.getOrCreateUser(tempId);
+        if (ConditionalGet.notModified(webRequest, dataVersionService.getETag(user))) {
+            return null;
+        }
+        
         Optional<DiaryDTO> diary = diaryService.getDiary(user, id);
         
-        return diary.map(ResponseEntity::ok)
+        return diary.map(dto -> ConditionalGet.ok()
+                           .lastModified(dto.getUpdatedAt().atZone(ZoneId.systemDefault()))
+                           .body(dto))
                    .orElse(ResponseEntity.notFound().build());
     }
     
@@ -110,19 +168,44 @@ public class DiaryController {
     
     /**
      * 일기 검색
+     * mode=fulltext 이면 전문 검색 인덱스로 제목/내용/날짜 조건을 함께 적용하고 관련도 순으로 정렬
+     * mode=ngram 이면 제목/내용 검색을 인프로세스 n-gram 색인으로 처리
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<DiaryDTO>> searchDiaries(
+    public ResponseEntity<?> searchDiaries(
             @RequestHeader(value = "X-Temp-Id", required = false) String tempId,
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String content,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "like") String mode) {
         
         User user = userService.getOrCreateUser(tempId);
-        Page<DiaryDTO> results;
+        
+        if ("fulltext".equalsIgnoreCase(mode)) {
+            return ResponseEntity.ok(diaryService.fullTextSearch(user, title, content, startDate, endDate, page, size));
+        }
+        
+        if ("ngram".equalsIgnoreCase(mode)) {
+            if (title != null && !title.trim().isEmpty()) {
+                return ResponseEntity.ok(diaryService.searchByNgram(user, NgramField.TITLE, title, page, size));
+            } else if (content != null && !content.trim().isEmpty()) {
+                return ResponseEntity.ok(diaryService.searchByNgram(user, NgramField.CONTENT, content, page, size));
+            }
+        }
+        
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(searchDiariesByCursor(user, title, content, startDate, endDate, cursor, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
+        
+        Page<DiarySummaryDTO> results;
         
         if (title != null && !title.trim().isEmpty()) {
             results = diaryService.searchByTitle(user, title, page, size);
@@ -136,4 +219,117 @@ public class DiaryController {
         
         return ResponseEntity.ok(results);
     }
+    
+    /**
+     * 제목 자동완성 (입력 중인 검색어로 시작하는 단어가 있는 제목, 최신순)
+     * 메모리 색인만 조회하므로 키 입력마다 호출해도 DB에 부담을 주지 않음
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TitleSuggestionDTO>> suggestTitles(
+            @RequestHeader(value = "X-Temp-Id", required = false) String tempId,
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        if (!titleSuggestIndex.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        String prefix = q.trim();
+        if (prefix.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        
+        User user = userService.getOrCreateUser(tempId);
+        return ResponseEntity.ok(titleSuggestIndex.suggest(user, prefix, Math.max(1, Math.min(limit, 20))));
+    }
+    
+    /**
+     * 일기 내보내기 (format=ndjson | zip, 응답 스트림으로 바로 전송)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDiaries(
+            @RequestHeader(value = "X-Temp-Id", required = false) String tempId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        User user = userService.getOrCreateUser(tempId);
+        
+        if ("zip".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"diary-export.zip\"")
+                    .body(out -> diaryExportService.exportZip(user, out));
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"diary-export.ndjson\"")
+                    .body(out -> diaryExportService.exportNdjson(user, out));
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * 일기 일괄 가져오기 (JSON 배열 또는 NDJSON)
+     * mode=per-row 는 기존 한 건씩 저장하는 경로로 처리하여 처리량 비교용으로 사용
+     * 중간에 데이터를 읽지 못하면 400과 함께 그때까지 저장된 건수와 실패 위치(failedRow)를 반환
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<?> importDiaries(
+            @RequestHeader(value = "X-Temp-Id", required = false) String tempId,
+            @RequestParam(defaultValue = "0") int batchSize,
+            @RequestParam(defaultValue = "batch") String mode,
+            InputStream body) {
+        
+        User user = userService.getOrCreateUser(tempId);
+        
+        ImportResultDTO result = diaryImportService.importDiaries(user, body, batchSize, "per-row".equalsIgnoreCase(mode));
+        if (!result.isCompleted()) {
+            return ResponseEntity.badRequest().body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * n-gram 검색 색인 상태 (현재 사용자 샤드)
+     */
+    @GetMapping("/search/index")
+    public ResponseEntity<ShardReport> getSearchIndex(
+            @RequestHeader(value = "X-Temp-Id", required = false) String tempId) {
+        
+        if (!ngramSearchEngine.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        User user = userService.getOrCreateUser(tempId);
+        return ResponseEntity.ok(ngramSearchEngine.report(user));
+    }
+    
+    /**
+     * n-gram 검색 색인 재구축 (현재 사용자 샤드)
+     */
+    @PostMapping("/search/index/rebuild")
+    public ResponseEntity<ShardReport> rebuildSearchIndex(
+            @RequestHeader(value = "X-Temp-Id", required = false) String tempId) {
+        
+        if (!ngramSearchEngine.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        User user = userService.getOrCreateUser(tempId);
+        return ResponseEntity.ok(ngramSearchEngine.rebuild(user));
+    }
+    
+    /**
+     * 일기 검색 (커서 모드)
+     */
+    private CursorPage<DiarySummaryDTO> searchDiariesByCursor(User user, String title, String content,
+                                                       LocalDate startDate, LocalDate endDate, String cursor, int size) {
+        if (title != null && !title.trim().isEmpty()) {
+            return diaryService.searchByTitleCursor(user, title, cursor, size);
+        } else if (content != null && !content.trim().isEmpty()) {
+            return diaryService.searchByContentCursor(user, content, cursor, size);
+        } else if (startDate != null && endDate != null) {
+            return diaryService.searchByDateRangeCursor(user, startDate, endDate, cursor, size);
+        } else {
+            return diaryService.getDiariesByCursor(user, cursor, size);
+        }
+    }
 }
@@ -1,18 +1,23 @@
 package com.diary.controller;
 
 import com.diary.service.FileService;
+import com.diary.service.ImageDerivativeService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,6 +26,15 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000")
 public class FileController {
     
+    // Tomcat sendfile 요청 속성 (커넥터가 지원할 때만 support 속성이 true)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    // 업로드 파일명은 내용 해시 또는 UUID라 한 번 정해지면 내용이 바뀌지 않음
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    
     @Autowired
     private FileService fileService;
     
@@ -50,29 +64,79 @@ public class FileController {
     
     /**
      * 이미지 파일 조회
+     * size=thumb|medium 이면 파생본을 제공하고, 아직 준비되지 않았으면 원본을 제공
+     * ETag/Last-Modified 조건부 요청은 304로, Range 요청은 206으로 응답
      */
     @GetMapping("/{filename}")
-    public ResponseEntity<Resource> getFile(@PathVariable String filename) {
+    public ResponseEntity<Resource> getFile(@PathVariable String filename,
+                                            @RequestParam(required = false) String size,
+                                            ServletWebRequest webRequest) {
+        if (!FileService.isStoredFilename(filename)) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        ImageDerivativeService.Variant variant = ImageDerivativeService.Variant.from(size);
+        Path original = fileService.getFilePath(filename);
+        Path filePath = fileService.getFilePath(filename, variant);
+        
+        if (!Files.isRegularFile(filePath) || !Files.isReadable(filePath)) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        // 파생본 대신 원본을 준 경우에는 파생본이 준비되면 바뀌어야 하므로 매번 재검증
+        boolean derivative = !filePath.equals(original);
+        boolean fallback = variant != null && !derivative;
+        CacheControl cacheControl = fallback ? CacheControl.noCache() : IMMUTABLE;
+        String eTag = buildETag(filename, derivative ? variant : null);
+        
         try {
-            Path filePath = fileService.getFilePath(filename);
-            Resource resource = new UrlResource(filePath.toUri());
+            long lastModified = Files.getLastModifiedTime(filePath).toMillis();
+            if (webRequest.checkNotModified(eTag, lastModified)) {
+                // 304 응답 상태와 ETag/Last-Modified 헤더는 checkNotModified가 설정
+                webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+                return null;
+            }
             
-            if (resource.exists() && resource.isReadable()) {
-                // 파일 확장자에 따른 Content-Type 설정
-                String contentType = getContentType(filename);
-                
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
+            // ETag/Last-Modified 헤더는 checkNotModified가 이미 설정했으므로 중복으로 넣지 않음
+            long length = Files.size(filePath);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(getContentType(filename)))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .cacheControl(cacheControl);
+            
+            // 전체 파일 응답은 Tomcat sendfile로 커널에서 바로 전송 (Range 요청은 Spring이 구간 처리)
+            HttpServletRequest request = webRequest.getRequest();
+            boolean fullBody = request.getHeader(HttpHeaders.RANGE) == null;
+            if (fullBody && "GET".equals(request.getMethod())) {
+                fileService.recordServed(length);
+            }
+            if ("GET".equals(request.getMethod())
+                    && fullBody
+                    && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, filePath.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, length);
+                return response.contentLength(length).build();
             }
-        } catch (MalformedURLException e) {
-            return ResponseEntity.badRequest().build();
+            
+            return response.body(new FileSystemResource(filePath));
+        } catch (IOException e) {
+            // 확인 직후 파일이 지워진 경우
+            return ResponseEntity.notFound().build();
         }
     }
     
+    /**
+     * 강한 ETag 생성
+     * 내용 주소 파일명은 해시 자체, UUID 파일명은 UUID를 쓰고 파생본은 크기 이름을 덧붙임
+     */
+    private String buildETag(String filename, ImageDerivativeService.Variant variant) {
+        int dot = filename.lastIndexOf('.');
+        String base = dot < 0 ? filename : filename.substring(0, dot);
+        return "\"" + base + (variant != null ? "-" + variant.getDirectory() : "") + "\"";
+    }
+    
     /**
      * 파일 확장자에 따른 Content-Type 반환
      */
@@ -1,12 +1,30 @@
 package com.diary.controller;
 
+import com.diary.cache.CalendarCache;
+import com.diary.cache.StatisticsSnapshotCache;
+import com.diary.dto.CalendarDTO;
 import com.diary.dto.StatisticsDTO;
 import com.diary.entity.User;
+import com.diary.service.DataVersionService;
 import com.diary.service.StatisticsService;
 import com.diary.service.UserService;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 
 @RestController
 @RequestMapping("/api/statistics")
@@ -19,16 +37,132 @@ public class StatisticsController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+    
+    @Autowired
+    private StatisticsSnapshotCache snapshotCache;
+    
+    @Autowired
+    private CalendarCache calendarCache;
+    
+    @Value("${statistics.streaming-analysis.timeout-ms:60000}")
+    private long streamingTimeoutMs;
+    
+    // 비동기 집계는 요청이 잡고 있는 커넥션(open-in-view)과 별도로 커넥션을 하나 더 쓰므로 동시 실행 수 제한
+    // (db-concurrency.connection-headroom에 이 수가 포함되어야 함)
+    @Value("${statistics.streaming-analysis.max-concurrent:1}")
+    private int maxStreamingWorkers;
+    
+    private Semaphore streamingWorkers;
+    
+    @Value("${statistics.snapshot-cache.enabled:true}")
+    private boolean useSnapshotCache;
+    
     /**
      * 사용자 통계 조회
+     * If-None-Match가 사용자 데이터 버전과 같으면 집계 없이 304
+     * 스냅샷 캐시를 쓰면 일기가 바뀐 뒤 첫 조회에서만 집계
+     * 스트리밍 단어 분석 모드에서는 요청 스레드를 놓고 비동기로 집계하며,
+     * 클라이언트 연결이 끊기거나 시간이 초과되면 집계를 중단한다.
      */
     @GetMapping
-    public ResponseEntity<StatisticsDTO> getStatistics(
-            @RequestHeader(value = "X-Temp-Id", required = false) String tempId) {
+    public DeferredResult<ResponseEntity<StatisticsDTO>> getStatistics(
+            @RequestHeader(value = "X-Temp-Id", required = false) String tempId,
+            ServletWebRequest webRequest) {
         
         User user = userService.getOrCreateUser(tempId);
-        StatisticsDTO statistics = statisticsService.getUserStatistics(user);
+        if (ConditionalGet.notModified(webRequest, dataVersionService.getETag(user))) {
+            return null;
+        }
+        
+        // 스냅샷이 있으면 스트리밍 모드여도 비동기로 넘길 필요 없음
+        boolean cached = useSnapshotCache && snapshotCache.peek(user.getId()) != null;
+        if (cached || !statisticsService.isStreamingAnalysis()) {
+            DeferredResult<ResponseEntity<StatisticsDTO>> result = new DeferredResult<>();
+            result.setResult(ConditionalGet.ok().body(loadStatistics(user, () -> false)));
+            return result;
+        }
         
-        return ResponseEntity.ok(statistics);
+        DeferredResult<ResponseEntity<StatisticsDTO>> result = new DeferredResult<>(streamingTimeoutMs);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        // Tomcat은 클라이언트 연결 끊김을 비동기 오류로 알림
+        result.onTimeout(() -> cancelled.set(true));
+        result.onError(e -> cancelled.set(true));
+        
+        taskExecutor.execute(() -> {
+            try {
+                acquireStreamingWorker(cancelled::get);
+                try {
+                    StatisticsDTO statistics = loadStatistics(user, cancelled::get);
+                    result.setResult(ConditionalGet.ok().body(statistics));
+                } finally {
+                    streamingWorkers.release();
+                }
+            } catch (CancellationException e) {
+                // 이미 타임아웃/연결 종료로 응답이 끝난 요청
+            } catch (RuntimeException e) {
+                result.setErrorResult(e);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * 연간 달력 히트맵 (year 생략 시 올해)
+     * 일기 쓴 날 비트맵(Base64)과 그 날들의 일기 수만 내려주므로 366개 객체 대신 수백 바이트로 응답
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<?> getCalendar(
+            @RequestHeader(value = "X-Temp-Id", required = false) String tempId,
+            @RequestParam(required = false) Integer year,
+            ServletWebRequest webRequest) {
+        
+        int calendarYear = year != null ? year : LocalDate.now().getYear();
+        if (calendarYear < 1 || calendarYear > 9999) {
+            return ResponseEntity.badRequest().body(Map.of("error", "year는 1~9999 사이여야 합니다."));
+        }
+        
+        User user = userService.getOrCreateUser(tempId);
+        if (ConditionalGet.notModified(webRequest, dataVersionService.getETag(user))) {
+            return null;
+        }
+        
+        CalendarDTO calendar = calendarCache.get(user.getId(), calendarYear,
+                () -> statisticsService.getCalendar(user, calendarYear));
+        return ConditionalGet.ok().body(calendar);
+    }
+    
+    @PostConstruct
+    public void initStreamingWorkers() {
+        streamingWorkers = new Semaphore(Math.max(1, maxStreamingWorkers), true);
+    }
+    
+    /**
+     * 비동기 집계 실행 허가 대기 (기다리는 동안 요청이 끝나면 집계하지 않고 중단)
+     */
+    private void acquireStreamingWorker(BooleanSupplier cancelled) {
+        try {
+            while (!streamingWorkers.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                if (cancelled.getAsBoolean()) {
+                    throw new CancellationException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+    
+    // 트랜잭션은 실제로 집계하는 요청만 열도록 캐시 조회는 서비스 호출 밖에서 처리
+    private StatisticsDTO loadStatistics(User user, BooleanSupplier cancelled) {
+        if (!useSnapshotCache) {
+            return statisticsService.getUserStatistics(user, cancelled);
+        }
+        return snapshotCache.get(user.getId(), () -> statisticsService.getUserStatistics(user, cancelled));
     }
 }
@@ -0,0 +1,67 @@
+package com.diary.dto;
+
+/**
+ * 연간 달력 히트맵 (일기 쓴 날 비트맵 + 쓴 날의 일기 수)
+ *
+ * bitmap은 1월 1일부터 하루당 1비트(바이트 안에서는 하위 비트부터)를 Base64로 인코딩한 값이고,
+ * counts는 비트가 켜진 날 순서대로의 일기 수이다. (i번째로 켜진 비트의 날짜 → counts[i])
+ */
+public class CalendarDTO {
+    
+    private int year;
+    private int days;
+    private String bitmap;
+    private int[] counts;
+    private long total;
+    
+    public CalendarDTO() {}
+    
+    public CalendarDTO(int year, int days, String bitmap, int[] counts, long total) {
+        this.year = year;
+        this.days = days;
+        this.bitmap = bitmap;
+        this.counts = counts;
+        this.total = total;
+    }
+    
+    // Getters and Setters
+    public int getYear() {
+        return year;
+    }
+    
+    public void setYear(int year) {
+        this.year = year;
+    }
+    
+    public int getDays() {
+        return days;
+    }
+    
+    public void setDays(int days) {
+        this.days = days;
+    }
+    
+    public String getBitmap() {
+        return bitmap;
+    }
+    
+    public void setBitmap(String bitmap) {
+        this.bitmap = bitmap;
+    }
+    
+    public int[] getCounts() {
+        return counts;
+    }
+    
+    public void setCounts(int[] counts) {
+        this.counts = counts;
+    }
+    
+    public long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
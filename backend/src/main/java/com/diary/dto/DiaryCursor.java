@@ -0,0 +1,60 @@
+package com.diary.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 일기 목록 커서 (diary_date DESC, id DESC 정렬 기준의 마지막 위치)
+ * 클라이언트에는 불투명한 Base64 문자열로 전달된다.
+ */
+public class DiaryCursor {
+    
+    // 첫 페이지 조회용 (모든 일기보다 뒤에 있는 위치)
+    public static final DiaryCursor FIRST = new DiaryCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+    
+    private final LocalDate diaryDate;
+    private final long id;
+    
+    public DiaryCursor(LocalDate diaryDate, long id) {
+        this.diaryDate = diaryDate;
+        this.id = id;
+    }
+    
+    /**
+     * 커서 문자열 해석 (비어 있으면 첫 페이지)
+     */
+    public static DiaryCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return new DiaryCursor(LocalDate.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+    
+    /**
+     * 커서 문자열 생성
+     */
+    public String encode() {
+        String raw = diaryDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDate getDiaryDate() {
+        return diaryDate;
+    }
+    
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,82 @@
+package com.diary.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 목록/검색용 일기 요약
+ * 본문 전체 대신 서버에서 자른 미리보기(snippet)만 포함한다. 전체 본문은 상세 조회에서만 내려준다.
+ */
+public class DiarySummaryDTO {
+    
+    // 미리보기 최대 글자 수
+    public static final int SNIPPET_LENGTH = 150;
+    
+    private Long id;
+    private String title;
+    private LocalDate diaryDate;
+    private String imagePath;
+    private String snippet;
+    private LocalDateTime updatedAt;
+    
+    public DiarySummaryDTO() {}
+    
+    // JPQL 생성자 프로젝션용
+    public DiarySummaryDTO(Long id, String title, LocalDate diaryDate, String imagePath, String snippet, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.diaryDate = diaryDate;
+        this.imagePath = imagePath;
+        this.snippet = snippet;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public LocalDate getDiaryDate() {
+        return diaryDate;
+    }
+    
+    public void setDiaryDate(LocalDate diaryDate) {
+        this.diaryDate = diaryDate;
+    }
+    
+    public String getImagePath() {
+        return imagePath;
+    }
+    
+    public void setImagePath(String imagePath) {
+        this.imagePath = imagePath;
+    }
+    
+    public String getSnippet() {
+        return snippet;
+    }
+    
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,107 @@
+package com.diary.dto;
+
+import java.util.List;
+
+/**
+ * 일기 일괄 가져오기 결과
+ */
+public class ImportResultDTO {
+    private String mode;
+    private long imported;
+    private long skipped;
+    private int batches;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<String> errors;
+    // 입력을 끝까지 읽었는지, 아니면 읽지 못한 첫 항목 번호 (1부터)
+    private boolean completed;
+    private Long failedRow;
+    
+    public ImportResultDTO() {}
+    
+    public ImportResultDTO(String mode, long imported, long skipped, int batches, long elapsedMillis,
+                           List<String> errors, Long failedRow) {
+        this.mode = mode;
+        this.imported = imported;
+        this.skipped = skipped;
+        this.batches = batches;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = elapsedMillis > 0 ? imported * 1000.0 / elapsedMillis : imported;
+        this.errors = errors;
+        this.completed = failedRow == null;
+        this.failedRow = failedRow;
+    }
+    
+    // Getters and Setters
+    public String getMode() {
+        return mode;
+    }
+    
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+    
+    public long getImported() {
+        return imported;
+    }
+    
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+    
+    public long getSkipped() {
+        return skipped;
+    }
+    
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+    
+    public int getBatches() {
+        return batches;
+    }
+    
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+    
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+    
+    public List<String> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+    
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+    
+    public Long getFailedRow() {
+        return failedRow;
+    }
+    
+    public void setFailedRow(Long failedRow) {
+        this.failedRow = failedRow;
+    }
+}
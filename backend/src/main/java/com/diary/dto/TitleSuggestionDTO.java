@@ -0,0 +1,46 @@
+package com.diary.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 제목 자동완성 항목
+ */
+public class TitleSuggestionDTO {
+    
+    private Long id;
+    private String title;
+    private LocalDate diaryDate;
+    
+    public TitleSuggestionDTO() {}
+    
+    public TitleSuggestionDTO(Long id, String title, LocalDate diaryDate) {
+        this.id = id;
+        this.title = title;
+        this.diaryDate = diaryDate;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public LocalDate getDiaryDate() {
+        return diaryDate;
+    }
+    
+    public void setDiaryDate(LocalDate diaryDate) {
+        this.diaryDate = diaryDate;
+    }
+}
@@ -1,11 +1,20 @@
 package com.diary.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * 사용자
+ * 2차 캐시 사용 시 last_accessed_at은 JDBC 일괄 반영(LastAccessWriteBehind)이라 캐시 값이 늦을 수 있음 (조회 로직에서는 사용하지 않음)
+ */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,37 @@
+package com.diary.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 사용자별 데이터 변경 버전 (일기가 바뀔 때마다 1씩 증가, 조건부 GET의 ETag로 사용)
+ */
+@Entity
+@Table(name = "user_data_versions")
+public class UserDataVersion {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(nullable = false)
+    private long version;
+    
+    // 기본 생성자
+    public UserDataVersion() {}
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
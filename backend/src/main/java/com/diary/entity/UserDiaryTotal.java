@@ -0,0 +1,37 @@
+package com.diary.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 사용자별 총 일기 수 카운터
+ */
+@Entity
+@Table(name = "user_diary_totals")
+public class UserDiaryTotal {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+    
+    // 기본 생성자
+    public UserDiaryTotal() {}
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public long getTotalCount() {
+        return totalCount;
+    }
+    
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+}
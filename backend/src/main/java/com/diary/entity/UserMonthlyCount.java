@@ -0,0 +1,63 @@
+package com.diary.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 사용자별 월간 일기 수 카운터
+ * 일기 작성/수정/삭제 트랜잭션 안에서 함께 갱신된다.
+ */
+@Entity
+@Table(name = "user_monthly_counts")
+@IdClass(UserMonthlyCountId.class)
+public class UserMonthlyCount {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Id
+    @Column(name = "diary_year")
+    private int diaryYear;
+    
+    @Id
+    @Column(name = "diary_month")
+    private int diaryMonth;
+    
+    @Column(name = "diary_count", nullable = false)
+    private long diaryCount;
+    
+    // 기본 생성자
+    public UserMonthlyCount() {}
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public int getDiaryYear() {
+        return diaryYear;
+    }
+    
+    public void setDiaryYear(int diaryYear) {
+        this.diaryYear = diaryYear;
+    }
+    
+    public int getDiaryMonth() {
+        return diaryMonth;
+    }
+    
+    public void setDiaryMonth(int diaryMonth) {
+        this.diaryMonth = diaryMonth;
+    }
+    
+    public long getDiaryCount() {
+        return diaryCount;
+    }
+    
+    public void setDiaryCount(long diaryCount) {
+        this.diaryCount = diaryCount;
+    }
+}
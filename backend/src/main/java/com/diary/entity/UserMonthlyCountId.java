@@ -0,0 +1,34 @@
+package com.diary.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * UserMonthlyCount 복합 키 (user_id, diary_year, diary_month)
+ */
+public class UserMonthlyCountId implements Serializable {
+    private Long userId;
+    private int diaryYear;
+    private int diaryMonth;
+    
+    public UserMonthlyCountId() {}
+    
+    public UserMonthlyCountId(Long userId, int diaryYear, int diaryMonth) {
+        this.userId = userId;
+        this.diaryYear = diaryYear;
+        this.diaryMonth = diaryMonth;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserMonthlyCountId)) return false;
+        UserMonthlyCountId that = (UserMonthlyCountId) o;
+        return diaryYear == that.diaryYear && diaryMonth == that.diaryMonth && Objects.equals(userId, that.userId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, diaryYear, diaryMonth);
+    }
+}
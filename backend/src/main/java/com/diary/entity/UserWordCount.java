@@ -0,0 +1,58 @@
+package com.diary.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 사용자별 단어 빈도 색인
+ * 일기 작성/수정/삭제 시 변화량만큼 갱신된다.
+ */
+@Entity
+@Table(name = "user_word_counts")
+@IdClass(UserWordCountId.class)
+public class UserWordCount {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Id
+    @Column(length = 100)
+    private String word;
+    
+    @Column(nullable = false)
+    private long frequency;
+    
+    // 기본 생성자
+    public UserWordCount() {}
+    
+    // 생성자
+    public UserWordCount(Long userId, String word, long frequency) {
+        this.userId = userId;
+        this.word = word;
+        this.frequency = frequency;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getWord() {
+        return word;
+    }
+    
+    public void setWord(String word) {
+        this.word = word;
+    }
+    
+    public long getFrequency() {
+        return frequency;
+    }
+    
+    public void setFrequency(long frequency) {
+        this.frequency = frequency;
+    }
+}
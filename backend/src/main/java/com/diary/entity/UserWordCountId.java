@@ -0,0 +1,40 @@
+package com.diary.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * UserWordCount 복합 키 (user_id, word)
+ */
+public class UserWordCountId implements Serializable {
+    private Long userId;
+    private String word;
+    
+    public UserWordCountId() {}
+    
+    public UserWordCountId(Long userId, String word) {
+        this.userId = userId;
+        this.word = word;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getWord() {
+        return word;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserWordCountId)) return false;
+        UserWordCountId that = (UserWordCountId) o;
+        return Objects.equals(userId, that.userId) && Objects.equals(word, that.word);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, word);
+    }
+}
@@ -1,44 +1,138 @@
 package com.diary.repository;
 
+import com.diary.dto.DiarySummaryDTO;
 import com.diary.entity.Diary;
 import com.diary.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface DiaryRepository extends JpaRepository<Diary, Long> {
+public interface DiaryRepository extends JpaRepository<Diary, Long>, DiaryRepositoryCustom {
+    
+    // 목록/검색 요약 프로젝션 (본문은 미리보기 길이만큼만 조회)
+    String SUMMARY = "SELECT new com.diary.dto.DiarySummaryDTO(d.id, d.title, d.diaryDate, d.imagePath, " +
+                     "SUBSTRING(d.content, 1, " + DiarySummaryDTO.SNIPPET_LENGTH + "), d.updatedAt) FROM Diary d ";
+    
+    // 커서 조건 (diary_date DESC, id DESC 기준으로 커서 이후만 조회)
+    String AFTER_CURSOR = "AND (d.diaryDate < :cursorDate OR (d.diaryDate = :cursorDate AND d.id < :cursorId)) ";
+    
+    String ORDER_BY_DATE = "ORDER BY d.diaryDate DESC, d.id DESC";
+    
+    // 쿼리 캐시 영역 (2차 캐시 사용 시에만 적용, diaries 테이블이 바뀌면 Hibernate가 무효화)
+    String QUERY_CACHE_REGION = "diary-queries";
     
     // 사용자별 일기 조회
-    Page<Diary> findByUserOrderByDiaryDateDesc(User user, Pageable pageable);
+    @QueryHints(value = {@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                         @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)},
+                forCounting = true)
+    @Query(value = SUMMARY + "WHERE d.user = :user " + ORDER_BY_DATE,
+           countQuery = "SELECT COUNT(d) FROM Diary d WHERE d.user = :user")
+    Page<DiarySummaryDTO> findSummariesByUser(@Param("user") User user, Pageable pageable);
     
     // 사용자별 일기 개수
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     long countByUser(User user);
     
     // 특정 사용자의 특정 일기 조회
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     Optional<Diary> findByIdAndUser(Long id, User user);
     
     // 제목으로 검색
-    @Query("SELECT d FROM Diary d WHERE d.user = :user AND LOWER(d.title) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY d.diaryDate DESC")
-    Page<Diary> findByUserAndTitleContainingIgnoreCase(@Param("user") User user, @Param("keyword") String keyword, Pageable pageable);
+    @Query(value = SUMMARY + "WHERE d.user = :user AND LOWER(d.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " + ORDER_BY_DATE,
+           countQuery = "SELECT COUNT(d) FROM Diary d WHERE d.user = :user AND LOWER(d.title) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<DiarySummaryDTO> findSummariesByUserAndTitleContaining(@Param("user") User user, @Param("keyword") String keyword, Pageable pageable);
     
     // 내용으로 검색
-    @Query("SELECT d FROM Diary d WHERE d.user = :user AND LOWER(d.content) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY d.diaryDate DESC")
-    Page<Diary> findByUserAndContentContainingIgnoreCase(@Param("user") User user, @Param("keyword") String keyword, Pageable pageable);
+    @Query(value = SUMMARY + "WHERE d.user = :user AND LOWER(d.content) LIKE LOWER(CONCAT('%', :keyword, '%')) " + ORDER_BY_DATE,
+           countQuery = "SELECT COUNT(d) FROM Diary d WHERE d.user = :user AND LOWER(d.content) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<DiarySummaryDTO> findSummariesByUserAndContentContaining(@Param("user") User user, @Param("keyword") String keyword, Pageable pageable);
     
     // 날짜 범위로 검색
-    Page<Diary> findByUserAndDiaryDateBetweenOrderByDiaryDateDesc(User user, LocalDate startDate, LocalDate endDate, Pageable pageable);
+    @Query(value = SUMMARY + "WHERE d.user = :user AND d.diaryDate BETWEEN :startDate AND :endDate " + ORDER_BY_DATE,
+           countQuery = "SELECT COUNT(d) FROM Diary d WHERE d.user = :user AND d.diaryDate BETWEEN :startDate AND :endDate")
+    Page<DiarySummaryDTO> findSummariesByUserAndDateRange(@Param("user") User user, @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate, Pageable pageable);
     
     // 특정 날짜의 일기 조회
     List<Diary> findByUserAndDiaryDate(User user, LocalDate date);
     
+    // 커서 기반 목록 조회 (count 쿼리 없음)
+    @Query(SUMMARY + "WHERE d.user = :user " + AFTER_CURSOR + ORDER_BY_DATE)
+    List<DiarySummaryDTO> findSummariesByUserAfterCursor(@Param("user") User user, @Param("cursorDate") LocalDate cursorDate,
+                                                         @Param("cursorId") Long cursorId, Pageable pageable);
+    
+    // 커서 기반 제목 검색
+    @Query(SUMMARY + "WHERE d.user = :user AND LOWER(d.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " + AFTER_CURSOR + ORDER_BY_DATE)
+    List<DiarySummaryDTO> findSummariesByUserAndTitleAfterCursor(@Param("user") User user, @Param("keyword") String keyword,
+                                                                 @Param("cursorDate") LocalDate cursorDate, @Param("cursorId") Long cursorId,
+                                                                 Pageable pageable);
+    
+    // 커서 기반 내용 검색
+    @Query(SUMMARY + "WHERE d.user = :user AND LOWER(d.content) LIKE LOWER(CONCAT('%', :keyword, '%')) " + AFTER_CURSOR + ORDER_BY_DATE)
+    List<DiarySummaryDTO> findSummariesByUserAndContentAfterCursor(@Param("user") User user, @Param("keyword") String keyword,
+                                                                   @Param("cursorDate") LocalDate cursorDate, @Param("cursorId") Long cursorId,
+                                                                   Pageable pageable);
+    
+    // 커서 기반 날짜 범위 검색
+    @Query(SUMMARY + "WHERE d.user = :user AND d.diaryDate BETWEEN :startDate AND :endDate " + AFTER_CURSOR + ORDER_BY_DATE)
+    List<DiarySummaryDTO> findSummariesByUserAndDateRangeAfterCursor(@Param("user") User user, @Param("startDate") LocalDate startDate,
+                                                                     @Param("endDate") LocalDate endDate, @Param("cursorDate") LocalDate cursorDate,
+                                                                     @Param("cursorId") Long cursorId, Pageable pageable);
+    
+    // n-gram 후보 중 제목 검색 (후보 ID 범위에서만 LIKE 확인)
+    @Query(value = SUMMARY + "WHERE d.user = :user AND d.id IN :ids AND LOWER(d.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " + ORDER_BY_DATE,
+           countQuery = "SELECT COUNT(d) FROM Diary d WHERE d.user = :user AND d.id IN :ids AND LOWER(d.title) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<DiarySummaryDTO> findSummariesByUserAndIdInAndTitleContaining(@Param("user") User user, @Param("ids") Collection<Long> ids,
+                                                                       @Param("keyword") String keyword, Pageable pageable);
+    
+    // n-gram 후보 중 내용 검색
+    @Query(value = SUMMARY + "WHERE d.user = :user AND d.id IN :ids AND LOWER(d.content) LIKE LOWER(CONCAT('%', :keyword, '%')) " + ORDER_BY_DATE,
+           countQuery = "SELECT COUNT(d) FROM Diary d WHERE d.user = :user AND d.id IN :ids AND LOWER(d.content) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<DiarySummaryDTO> findSummariesByUserAndIdInAndContentContaining(@Param("user") User user, @Param("ids") Collection<Long> ids,
+                                                                         @Param("keyword") String keyword, Pageable pageable);
+    
+    // n-gram 색인 구축용 (id, title, content)
+    @Query("SELECT d.id, d.title, d.content FROM Diary d WHERE d.user = :user")
+    List<Object[]> findIndexSourceByUser(@Param("user") User user);
+    
+    // 제목 자동완성 색인 구축용 (id, title, diaryDate)
+    @Query("SELECT d.id, d.title, d.diaryDate FROM Diary d WHERE d.user = :user")
+    List<Object[]> findTitleSourceByUser(@Param("user") User user);
+    
+    // 내보내기용 스트리밍 조회 (JDBC fetch size 단위로 커서 이동, 트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT d FROM Diary d WHERE d.user = :user ORDER BY d.diaryDate, d.id")
+    Stream<Diary> streamByUser(@Param("user") User user);
+    
+    // 내보내기용 첨부 이미지 파일명 (중복 제거)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT DISTINCT d.imagePath FROM Diary d WHERE d.user = :user AND d.imagePath IS NOT NULL ORDER BY d.imagePath")
+    Stream<String> streamImagePathsByUser(@Param("user") User user);
+    
+    // 이미지 파일 참조 수 (내용 주소 저장소에서는 여러 일기가 같은 파일을 공유)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
+    long countByImagePath(String imagePath);
+    
+    // 고아 이미지 정리용: 주어진 파일명 중 일기가 참조하는 것만 반환
+    @Query("SELECT DISTINCT d.imagePath FROM Diary d WHERE d.imagePath IN :imagePaths")
+    List<String> findReferencedImagePaths(@Param("imagePaths") Collection<String> imagePaths);
+    
     // 월별 통계를 위한 쿼리
     @Query("SELECT EXTRACT(YEAR FROM d.diaryDate) as year, EXTRACT(MONTH FROM d.diaryDate) as month, COUNT(d) as count " +
            "FROM Diary d WHERE d.user = :user " +
@@ -46,7 +140,20 @@ public interface DiaryRepository extends JpaRepository<Diary, Long> {
            "ORDER BY year DESC, month DESC")
     List<Object[]> getMonthlyStatistics(@Param("user") User user);
     
+    // 달력 히트맵용 날짜별 일기 수 (idx_diaries_user_date_id 범위만 읽는 index-only 집계)
+    @Query("SELECT d.diaryDate, COUNT(d) FROM Diary d " +
+           "WHERE d.user = :user AND d.diaryDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY d.diaryDate ORDER BY d.diaryDate")
+    List<Object[]> countByDayBetween(@Param("user") User user,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+    
     // 자주 쓰는 단어 분석을 위한 모든 내용 조회
     @Query("SELECT d.content FROM Diary d WHERE d.user = :user")
     List<String> findAllContentByUser(@Param("user") User user);
+    
+    // 병렬 스트리밍 단어 분석용 내용 조회 (트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT d.content FROM Diary d WHERE d.user = :user")
+    Stream<String> streamContentByUser(@Param("user") User user);
 }
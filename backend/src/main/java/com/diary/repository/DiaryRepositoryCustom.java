@@ -0,0 +1,18 @@
+package com.diary.repository;
+
+import com.diary.dto.DiarySummaryDTO;
+import com.diary.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+
+public interface DiaryRepositoryCustom {
+    
+    /**
+     * 전문 검색 (GIN tsvector 인덱스 사용, ts_rank 순 정렬)
+     * 비어 있지 않은 조건만 AND로 결합한다.
+     */
+    Page<DiarySummaryDTO> fullTextSearch(User user, String title, String content,
+                                         LocalDate startDate, LocalDate endDate, Pageable pageable);
+}
@@ -0,0 +1,112 @@
+package com.diary.repository;
+
+import com.diary.dto.DiarySummaryDTO;
+import com.diary.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 전문 검색 구현
+ *
+ * schema.sql의 idx_diaries_title_search / idx_diaries_content_search 인덱스를 타도록
+ * 인덱스와 동일한 to_tsvector('korean', ...) 식을 그대로 사용한다.
+ * websearch_to_tsquery로 여러 단어(AND), "구문", OR, -제외 검색을 지원한다.
+ */
+public class DiaryRepositoryCustomImpl implements DiaryRepositoryCustom {
+    
+    private static final String TITLE_VECTOR = "to_tsvector('korean', d.title)";
+    private static final String CONTENT_VECTOR = "to_tsvector('korean', d.content)";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<DiarySummaryDTO> fullTextSearch(User user, String title, String content,
+                                                LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        boolean hasTitle = title != null && !title.isBlank();
+        boolean hasContent = content != null && !content.isBlank();
+        
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("userId", user.getId());
+        
+        StringBuilder where = new StringBuilder(" FROM diaries d WHERE d.user_id = :userId");
+        List<String> ranks = new ArrayList<>();
+        
+        if (hasTitle) {
+            where.append(" AND ").append(TITLE_VECTOR).append(" @@ websearch_to_tsquery('korean', :title)");
+            ranks.add("ts_rank(" + TITLE_VECTOR + ", websearch_to_tsquery('korean', :title))");
+            params.put("title", title.trim());
+        }
+        if (hasContent) {
+            where.append(" AND ").append(CONTENT_VECTOR).append(" @@ websearch_to_tsquery('korean', :content)");
+            ranks.add("ts_rank(" + CONTENT_VECTOR + ", websearch_to_tsquery('korean', :content))");
+            params.put("content", content.trim());
+        }
+        if (startDate != null) {
+            where.append(" AND d.diary_date >= :startDate");
+            params.put("startDate", startDate);
+        }
+        if (endDate != null) {
+            where.append(" AND d.diary_date <= :endDate");
+            params.put("endDate", endDate);
+        }
+        
+        String orderBy = ranks.isEmpty()
+                ? " ORDER BY d.diary_date DESC, d.id DESC"
+                : " ORDER BY " + String.join(" + ", ranks) + " DESC, d.diary_date DESC, d.id DESC";
+        
+        Query query = entityManager.createNativeQuery(
+                "SELECT d.id, d.title, d.diary_date, d.image_path, LEFT(d.content, " + DiarySummaryDTO.SNIPPET_LENGTH + "), d.updated_at"
+                        + where + orderBy);
+        Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*)" + where);
+        params.forEach((name, value) -> {
+            query.setParameter(name, value);
+            countQuery.setParameter(name, value);
+        });
+        
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<DiarySummaryDTO> diaries = new ArrayList<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            diaries.add(new DiarySummaryDTO(
+                    ((Number) row[0]).longValue(),
+                    (String) row[1],
+                    toLocalDate(row[2]),
+                    (String) row[3],
+                    (String) row[4],
+                    toLocalDateTime(row[5])));
+        }
+        
+        // 결과만으로 전체 개수를 알 수 있으면 count 쿼리 생략
+        return PageableExecutionUtils.getPage(diaries, pageable,
+                () -> ((Number) countQuery.getSingleResult()).longValue());
+    }
+    
+    // 드라이버/Hibernate 버전에 따라 java.sql 타입 또는 java.time 타입으로 반환됨
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+    
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,39 @@
+package com.diary.repository;
+
+import com.diary.entity.UserDataVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+    
+    // 버전 조회 (행이 없으면 아직 변경이 없는 사용자)
+    @Query("SELECT v.version FROM UserDataVersion v WHERE v.userId = :userId")
+    Optional<Long> findVersionByUserId(@Param("userId") Long userId);
+    
+    // 버전 증가 (현재 트랜잭션에 참여)
+    // 네이티브 DML은 영향 테이블을 알려주지 않으면 Hibernate가 2차 캐시 전체를 비우므로 명시
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_data_versions"))
+    @Query(value = "INSERT INTO user_data_versions (user_id, version) VALUES (:userId, 1) " +
+                   "ON CONFLICT (user_id) DO UPDATE SET version = user_data_versions.version + 1",
+           nativeQuery = true)
+    void increment(@Param("userId") Long userId);
+    
+    // 해당 이미지를 참조하는 일기를 가진 모든 사용자의 버전 증가
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_data_versions"))
+    @Query(value = "INSERT INTO user_data_versions (user_id, version) " +
+                   "SELECT DISTINCT d.user_id, 1 FROM diaries d WHERE d.image_path = :imagePath " +
+                   "ON CONFLICT (user_id) DO UPDATE SET version = user_data_versions.version + 1",
+           nativeQuery = true)
+    int incrementByImagePath(@Param("imagePath") String imagePath);
+}
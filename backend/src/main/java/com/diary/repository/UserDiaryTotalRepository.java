@@ -0,0 +1,9 @@
+package com.diary.repository;
+
+import com.diary.entity.UserDiaryTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserDiaryTotalRepository extends JpaRepository<UserDiaryTotal, Long> {
+}
@@ -0,0 +1,15 @@
+package com.diary.repository;
+
+import com.diary.entity.UserMonthlyCount;
+import com.diary.entity.UserMonthlyCountId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserMonthlyCountRepository extends JpaRepository<UserMonthlyCount, UserMonthlyCountId>, UserMonthlyCountRepositoryCustom {
+    
+    // 월별 통계 (최신 월부터)
+    List<UserMonthlyCount> findByUserIdOrderByDiaryYearDescDiaryMonthDesc(Long userId);
+}
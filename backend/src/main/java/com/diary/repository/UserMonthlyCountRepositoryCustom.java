@@ -0,0 +1,22 @@
+package com.diary.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface UserMonthlyCountRepositoryCustom {
+    
+    /**
+     * 해당 날짜가 속한 월의 카운터와 총 일기 수를 delta만큼 변경
+     */
+    void increment(Long userId, LocalDate diaryDate, int delta);
+    
+    /**
+     * 총 일기 수 행을 잠금 (없으면 0으로 생성)
+     */
+    void lockTotal(Long userId);
+    
+    /**
+     * 사용자 카운터 전체 교체 (rows: {year, month, count})
+     */
+    void replaceAll(Long userId, List<long[]> rows, long total);
+}
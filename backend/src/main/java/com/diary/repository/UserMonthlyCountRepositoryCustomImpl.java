@@ -0,0 +1,67 @@
+package com.diary.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 월별/총 일기 수 카운터 upsert 구현 (현재 트랜잭션에 참여)
+ *
+ * 동시 갱신 시 교착을 피하기 위해 항상 user_diary_totals 행을 먼저 잠근 뒤 월별 행을 갱신한다.
+ */
+public class UserMonthlyCountRepositoryCustomImpl implements UserMonthlyCountRepositoryCustom {
+    
+    private static final String UPSERT_TOTAL_SQL =
+            "INSERT INTO user_diary_totals (user_id, total_count) VALUES (?, GREATEST(?, 0)) " +
+            "ON CONFLICT (user_id) DO UPDATE SET total_count = GREATEST(user_diary_totals.total_count + ?, 0)";
+    
+    private static final String UPSERT_MONTH_SQL =
+            "INSERT INTO user_monthly_counts (user_id, diary_year, diary_month, diary_count) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, diary_year, diary_month) " +
+            "DO UPDATE SET diary_count = user_monthly_counts.diary_count + EXCLUDED.diary_count";
+    
+    private static final String DELETE_EMPTY_MONTH_SQL =
+            "DELETE FROM user_monthly_counts WHERE user_id = ? AND diary_year = ? AND diary_month = ? AND diary_count <= 0";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void increment(Long userId, LocalDate diaryDate, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        
+        int year = diaryDate.getYear();
+        int month = diaryDate.getMonthValue();
+        
+        jdbcTemplate.update(UPSERT_TOTAL_SQL, userId, delta, delta);
+        jdbcTemplate.update(UPSERT_MONTH_SQL, userId, year, month, delta);
+        
+        if (delta < 0) {
+            jdbcTemplate.update(DELETE_EMPTY_MONTH_SQL, userId, year, month);
+        }
+    }
+    
+    @Override
+    public void lockTotal(Long userId) {
+        jdbcTemplate.update(UPSERT_TOTAL_SQL, userId, 0, 0);
+    }
+    
+    @Override
+    public void replaceAll(Long userId, List<long[]> rows, long total) {
+        jdbcTemplate.update("UPDATE user_diary_totals SET total_count = ? WHERE user_id = ?", total, userId);
+        jdbcTemplate.update("DELETE FROM user_monthly_counts WHERE user_id = ?", userId);
+        
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (long[] row : rows) {
+            args.add(new Object[]{userId, (int) row[0], (int) row[1], row[2]});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO user_monthly_counts (user_id, diary_year, diary_month, diary_count) VALUES (?, ?, ?, ?)",
+                args);
+    }
+}
@@ -0,0 +1,23 @@
+package com.diary.repository;
+
+import com.diary.entity.UserWordCount;
+import com.diary.entity.UserWordCountId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserWordCountRepository extends JpaRepository<UserWordCount, UserWordCountId>, UserWordCountRepositoryCustom {
+    
+    // 자주 쓰는 단어 상위 20개 (idx_user_word_counts_top 인덱스 사용)
+    List<UserWordCount> findTop20ByUserIdOrderByFrequencyDescWordAsc(Long userId);
+    
+    // 사용자 단어 색인 전체 삭제 (재구축용)
+    @Modifying
+    @Query("DELETE FROM UserWordCount w WHERE w.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
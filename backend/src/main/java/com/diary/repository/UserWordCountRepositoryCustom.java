@@ -0,0 +1,11 @@
+package com.diary.repository;
+
+import java.util.Map;
+
+public interface UserWordCountRepositoryCustom {
+    
+    /**
+     * 단어별 빈도 변화량을 일괄 반영 (0 이하가 된 단어는 삭제)
+     */
+    void applyDeltas(Long userId, Map<String, Long> deltas);
+}
@@ -0,0 +1,46 @@
+package com.diary.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 단어 색인 upsert 구현 (JDBC batch, 현재 트랜잭션에 참여)
+ */
+public class UserWordCountRepositoryCustomImpl implements UserWordCountRepositoryCustom {
+    
+    private static final String UPSERT_SQL =
+            "INSERT INTO user_word_counts (user_id, word, frequency) VALUES (?, ?, ?) " +
+            "ON CONFLICT (user_id, word) DO UPDATE SET frequency = user_word_counts.frequency + EXCLUDED.frequency";
+    
+    private static final String DELETE_EMPTY_SQL =
+            "DELETE FROM user_word_counts WHERE user_id = ? AND frequency <= 0";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void applyDeltas(Long userId, Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        boolean hasNegative = false;
+        // 동시 갱신 시 교착을 피하기 위해 단어 순서대로 잠금
+        for (Map.Entry<String, Long> entry : new TreeMap<>(deltas).entrySet()) {
+            rows.add(new Object[]{userId, entry.getKey(), entry.getValue()});
+            hasNegative |= entry.getValue() < 0;
+        }
+        
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        
+        if (hasNegative) {
+            jdbcTemplate.update(DELETE_EMPTY_SQL, userId);
+        }
+    }
+}
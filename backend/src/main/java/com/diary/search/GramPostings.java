@@ -0,0 +1,105 @@
+package com.diary.search;
+
+import java.util.Arrays;
+
+/**
+ * gram → 문서 순번(ordinal) 포스팅 리스트
+ * 순번은 항상 증가하는 값으로만 추가되므로 각 리스트는 정렬 상태를 유지한다.
+ */
+class GramPostings {
+    
+    private static final int[] EMPTY = new int[0];
+    
+    private final LongIntHashMap index;
+    private int[][] lists;
+    private int[] sizes;
+    private int listCount;
+    
+    GramPostings() {
+        index = new LongIntHashMap(1024);
+        lists = new int[256][];
+        sizes = new int[256];
+    }
+    
+    void add(long[] grams, int ordinal) {
+        for (long gram : grams) {
+            int slot = index.get(gram, -1);
+            if (slot < 0) {
+                slot = newList(gram);
+            }
+            int[] list = lists[slot];
+            int size = sizes[slot];
+            if (size == list.length) {
+                list = Arrays.copyOf(list, size + (size >> 1) + 1);
+                lists[slot] = list;
+            }
+            list[size] = ordinal;
+            sizes[slot] = size + 1;
+        }
+    }
+    
+    /**
+     * 포스팅 리스트 (길이는 sizeOf로 확인)
+     */
+    int[] list(long gram) {
+        int slot = index.get(gram, -1);
+        return slot < 0 ? EMPTY : lists[slot];
+    }
+    
+    int sizeOf(long gram) {
+        int slot = index.get(gram, -1);
+        return slot < 0 ? 0 : sizes[slot];
+    }
+    
+    /**
+     * 순번 재배치 (remap[old] = new, 삭제된 순번은 -1)
+     */
+    void remap(int[] remap) {
+        for (int slot = 0; slot < listCount; slot++) {
+            int[] list = lists[slot];
+            int size = sizes[slot];
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int mapped = remap[list[i]];
+                if (mapped >= 0) {
+                    list[kept++] = mapped;
+                }
+            }
+            sizes[slot] = kept;
+            if (kept < list.length / 2) {
+                lists[slot] = Arrays.copyOf(list, kept);
+            }
+        }
+    }
+    
+    int gramCount() {
+        return index.size();
+    }
+    
+    long postingCount() {
+        long total = 0;
+        for (int slot = 0; slot < listCount; slot++) {
+            total += sizes[slot];
+        }
+        return total;
+    }
+    
+    long estimatedBytes() {
+        long bytes = index.estimatedBytes() + (long) lists.length * 8 + (long) sizes.length * Integer.BYTES;
+        for (int slot = 0; slot < listCount; slot++) {
+            bytes += 16 + (long) lists[slot].length * Integer.BYTES;
+        }
+        return bytes;
+    }
+    
+    private int newList(long gram) {
+        if (listCount == lists.length) {
+            lists = Arrays.copyOf(lists, listCount << 1);
+            sizes = Arrays.copyOf(sizes, listCount << 1);
+        }
+        int slot = listCount++;
+        lists[slot] = new int[2];
+        index.put(gram, slot);
+        return slot;
+    }
+}
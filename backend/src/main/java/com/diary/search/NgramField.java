@@ -0,0 +1,9 @@
+package com.diary.search;
+
+/**
+ * n-gram 색인 대상 필드
+ */
+public enum NgramField {
+    TITLE,
+    CONTENT
+}
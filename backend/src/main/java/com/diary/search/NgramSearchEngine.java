@@ -0,0 +1,286 @@
+package com.diary.search;
+
+import com.diary.entity.Diary;
+import com.diary.entity.User;
+import com.diary.repository.DiaryRepository;
+import com.diary.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 인프로세스 n-gram 검색 엔진
+ *
+ * 사용자별 샤드에 제목/내용의 문자 2-gram·3-gram 역색인을 두고 검색어의 후보 일기 ID를 찾는다.
+ * 색인은 후보를 좁히는 용도이며, 최종 일치 여부와 정렬/페이징은 후보 ID에 한정된 DB 조회가 담당한다.
+ * 샤드는 첫 검색 시 DB에서 만들고, 이후 일기 쓰기가 커밋될 때마다 증분 갱신된다.
+ * 샤드 수가 max-users를 넘으면 가장 오래 사용되지 않은 사용자 샤드부터 버린다.
+ */
+@Component
+public class NgramSearchEngine {
+    
+    private static final Logger log = LoggerFactory.getLogger(NgramSearchEngine.class);
+    
+    @Autowired
+    private DiaryRepository diaryRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${search.ngram.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${search.ngram.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+    
+    // 후보가 이보다 많으면 색인 이점이 없으므로 LIKE 검색으로 넘김
+    @Value("${search.ngram.max-candidates:5000}")
+    private int maxCandidates;
+    
+    @Value("${search.ngram.max-users:1000}")
+    private int maxUsers;
+    
+    // 접근 순서 기반 LinkedHashMap (LRU)
+    private final LinkedHashMap<Long, NgramShard> shards = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 후보 일기 ID 조회
+     *
+     * @return 후보 ID 배열, 색인으로 처리할 수 없으면(1글자 검색어, 후보 과다) null
+     */
+    public long[] candidates(User user, NgramField field, String query) {
+        NgramShard shard = getOrBuild(user);
+        shard.lock.readLock().lock();
+        try {
+            return shard.search(field, query, maxCandidates);
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 일기 작성/수정 반영 (커밋 후)
+     */
+    public void onDiarySaved(User user, Diary diary) {
+        if (!enabled) {
+            return;
+        }
+        long diaryId = diary.getId();
+        String title = diary.getTitle();
+        String content = diary.getContent();
+        afterCommit(() -> withShard(user.getId(), shard -> shard.put(diaryId, title, content)));
+    }
+    
+    /**
+     * 일기 삭제 반영 (커밋 후)
+     */
+    public void onDiaryDeleted(User user, Long diaryId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> withShard(user.getId(), shard -> shard.remove(diaryId)));
+    }
+    
+    /**
+     * 사용자 샤드 무효화 (다음 검색 시 DB에서 다시 구축, 커밋 후)
+     */
+    public void invalidate(User user) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> remove(user.getId()));
+    }
+    
+    /**
+     * 사용자 샤드 재구축
+     */
+    public ShardReport rebuild(User user) {
+        remove(user.getId());
+        return report(user);
+    }
+    
+    /**
+     * 사용자 샤드 메모리 사용량
+     */
+    public ShardReport report(User user) {
+        NgramShard shard = getOrBuild(user);
+        shard.lock.readLock().lock();
+        try {
+            return shard.report(user.getId());
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 로드된 샤드 수
+     */
+    public int getShardCount() {
+        synchronized (shards) {
+            return shards.size();
+        }
+    }
+    
+    /**
+     * max-users 초과로 버린 샤드 수
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+    
+    /**
+     * 로드된 전체 샤드 메모리 사용량
+     */
+    public List<ShardReport> reports() {
+        Map<Long, NgramShard> snapshot;
+        synchronized (shards) {
+            snapshot = new LinkedHashMap<>(shards);
+        }
+        
+        List<ShardReport> reports = new ArrayList<>();
+        snapshot.forEach((userId, shard) -> {
+            shard.lock.readLock().lock();
+            try {
+                reports.add(shard.report(userId));
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        });
+        return reports;
+    }
+    
+    /**
+     * 시작 시 샤드 구축 (search.ngram.rebuild-on-startup)
+     * max-users를 넘게 구축하면 앞서 만든 샤드가 곧바로 버려지므로 max-users명까지만 구축한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAllOnStartup() {
+        if (!enabled || !rebuildOnStartup) {
+            return;
+        }
+        
+        long start = System.currentTimeMillis();
+        int page = 0;
+        int built = 0;
+        Page<User> users;
+        do {
+            users = userRepository.findAll(PageRequest.of(page++, 100, Sort.by("id")));
+            for (User user : users) {
+                if (built >= maxUsers) {
+                    break;
+                }
+                remove(user.getId());
+                getOrBuild(user);
+                built++;
+            }
+        } while (users.hasNext() && built < maxUsers);
+        
+        long bytes = reports().stream().mapToLong(ShardReport::getEstimatedBytes).sum();
+        log.info("n-gram 색인 구축 완료: 샤드 {}개, 약 {}KB, {}ms",
+                getShardCount(), bytes / 1024, System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * 샤드 조회, 없으면 DB에서 구축
+     * 구축 중인 샤드는 쓰기 잠금 상태로 먼저 등록하여 동시 검색/갱신이 구축 완료를 기다리게 한다.
+     */
+    private NgramShard getOrBuild(User user) {
+        synchronized (shards) {
+            NgramShard shard = shards.get(user.getId());
+            if (shard != null) {
+                return shard;
+            }
+        }
+        
+        NgramShard created = new NgramShard();
+        created.lock.writeLock().lock();
+        try {
+            synchronized (shards) {
+                NgramShard existing = shards.get(user.getId());
+                if (existing != null) {
+                    return existing;
+                }
+                shards.put(user.getId(), created);
+                
+                Iterator<Map.Entry<Long, NgramShard>> iterator = shards.entrySet().iterator();
+                while (shards.size() > maxUsers && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+            try {
+                for (Object[] row : diaryRepository.findIndexSourceByUser(user)) {
+                    created.put((Long) row[0], (String) row[1], (String) row[2]);
+                }
+            } catch (RuntimeException e) {
+                synchronized (shards) {
+                    shards.remove(user.getId(), created);
+                }
+                throw e;
+            }
+            return created;
+        } finally {
+            created.lock.writeLock().unlock();
+        }
+    }
+    
+    private void withShard(Long userId, Consumer<NgramShard> action) {
+        // 아직 로드되지 않은(또는 버려진) 샤드는 다음 구축 시 DB에서 반영됨
+        NgramShard shard;
+        synchronized (shards) {
+            shard = shards.get(userId);
+        }
+        if (shard == null) {
+            return;
+        }
+        shard.lock.writeLock().lock();
+        try {
+            action.accept(shard);
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+    
+    private void remove(Long userId) {
+        synchronized (shards) {
+            shards.remove(userId);
+        }
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
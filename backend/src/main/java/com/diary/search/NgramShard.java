@@ -0,0 +1,155 @@
+package com.diary.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 사용자 한 명의 n-gram 역색인 샤드
+ *
+ * 문서는 샤드 내부 순번(ordinal)으로 관리하고, 수정/삭제된 문서는 삭제 표시 후
+ * 일정 비율이 넘으면 순번을 재배치(compaction)한다.
+ */
+class NgramShard {
+    
+    private static final double COMPACT_RATIO = 0.25;
+    
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final GramPostings title = new GramPostings();
+    private final GramPostings content = new GramPostings();
+    private LongIntHashMap diaryToOrdinal = new LongIntHashMap(64);
+    private long[] ordinalToDiary = new long[64];
+    private final BitSet dead = new BitSet();
+    private int ordinalCount;
+    private int deadCount;
+    
+    /**
+     * 문서 추가 또는 교체
+     */
+    void put(long diaryId, String titleText, String contentText) {
+        markDead(diaryId);
+        
+        int ordinal = ordinalCount++;
+        if (ordinal == ordinalToDiary.length) {
+            ordinalToDiary = Arrays.copyOf(ordinalToDiary, ordinal << 1);
+        }
+        ordinalToDiary[ordinal] = diaryId;
+        diaryToOrdinal.put(diaryId, ordinal);
+        
+        title.add(NgramTokenizer.documentGrams(titleText), ordinal);
+        content.add(NgramTokenizer.documentGrams(contentText), ordinal);
+        
+        maybeCompact();
+    }
+    
+    /**
+     * 문서 삭제
+     */
+    void remove(long diaryId) {
+        markDead(diaryId);
+        maybeCompact();
+    }
+    
+    /**
+     * 후보 일기 ID 조회 (검색어의 모든 gram을 포함하는 문서)
+     *
+     * @return 후보 ID 배열, 색인으로 처리할 수 없는 검색어면 null
+     */
+    long[] search(NgramField field, String query, int maxCandidates) {
+        long[] grams = NgramTokenizer.queryGrams(query);
+        if (grams == null) {
+            return null;
+        }
+        GramPostings postings = field == NgramField.TITLE ? title : content;
+        
+        // 가장 짧은 포스팅 리스트부터 교집합
+        Long[] order = new Long[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            order[i] = grams[i];
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(postings.sizeOf(a), postings.sizeOf(b)));
+        
+        long first = order[0];
+        int[] base = postings.list(first);
+        int baseSize = postings.sizeOf(first);
+        
+        long[] result = new long[Math.min(baseSize, 16)];
+        int found = 0;
+        outer:
+        for (int i = 0; i < baseSize; i++) {
+            int ordinal = base[i];
+            if (dead.get(ordinal)) {
+                continue;
+            }
+            for (int g = 1; g < order.length; g++) {
+                if (Arrays.binarySearch(postings.list(order[g]), 0, postings.sizeOf(order[g]), ordinal) < 0) {
+                    continue outer;
+                }
+            }
+            if (found == maxCandidates) {
+                return null;
+            }
+            if (found == result.length) {
+                result = Arrays.copyOf(result, found << 1);
+            }
+            result[found++] = ordinalToDiary[ordinal];
+        }
+        return Arrays.copyOf(result, found);
+    }
+    
+    int documentCount() {
+        return ordinalCount - deadCount;
+    }
+    
+    /**
+     * 샤드 메모리 사용량 보고
+     */
+    ShardReport report(long userId) {
+        long bytes = title.estimatedBytes() + content.estimatedBytes()
+                + diaryToOrdinal.estimatedBytes() + (long) ordinalToDiary.length * Long.BYTES
+                + dead.size() / 8;
+        return new ShardReport(userId, documentCount(), deadCount,
+                title.gramCount() + content.gramCount(),
+                title.postingCount() + content.postingCount(), bytes);
+    }
+    
+    private void markDead(long diaryId) {
+        int existing = diaryToOrdinal.get(diaryId, -1);
+        if (existing >= 0) {
+            diaryToOrdinal.remove(diaryId);
+            dead.set(existing);
+            deadCount++;
+        }
+    }
+    
+    private void maybeCompact() {
+        if (deadCount < 64 || deadCount < ordinalCount * COMPACT_RATIO) {
+            return;
+        }
+        
+        int[] remap = new int[ordinalCount];
+        int live = 0;
+        for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+            if (dead.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = live;
+                ordinalToDiary[live] = ordinalToDiary[ordinal];
+                live++;
+            }
+        }
+        
+        title.remap(remap);
+        content.remap(remap);
+        
+        diaryToOrdinal = new LongIntHashMap(live);
+        for (int ordinal = 0; ordinal < live; ordinal++) {
+            diaryToOrdinal.put(ordinalToDiary[ordinal], ordinal);
+        }
+        ordinalToDiary = Arrays.copyOf(ordinalToDiary, Math.max(64, live + (live >> 1)));
+        dead.clear();
+        ordinalCount = live;
+        deadCount = 0;
+    }
+}
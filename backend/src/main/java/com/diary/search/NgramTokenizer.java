@@ -0,0 +1,102 @@
+package com.diary.search;
+
+import java.util.Arrays;
+
+/**
+ * 2-gram / 3-gram 추출기
+ *
+ * 문자 단위 n-gram을 사용하므로 한국어 복합어/조사 분리 없이도 부분 문자열 검색이 가능하다.
+ * 각 gram은 (길이 << 48 | 문자 16비트 × n) 형태의 long으로 인코딩한다.
+ */
+final class NgramTokenizer {
+    
+    private NgramTokenizer() {}
+    
+    /**
+     * 소문자 변환 + 연속 공백을 공백 하나로 정규화 (문자 수는 LIKE와 같은 기준 유지)
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean lastSpace = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!lastSpace) {
+                    sb.append(' ');
+                    lastSpace = true;
+                }
+            } else {
+                sb.append(Character.toLowerCase(c));
+                lastSpace = false;
+            }
+        }
+        int length = sb.length();
+        if (length > 0 && sb.charAt(length - 1) == ' ') {
+            sb.setLength(length - 1);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * 문서 색인용 gram (2-gram + 3-gram, 중복 제거·정렬)
+     */
+    static long[] documentGrams(String text) {
+        String normalized = normalize(text);
+        int length = normalized.length();
+        if (length < 2) {
+            return new long[0];
+        }
+        
+        long[] grams = new long[(length - 1) + Math.max(0, length - 2)];
+        int count = 0;
+        for (int i = 0; i + 1 < length; i++) {
+            grams[count++] = bigram(normalized, i);
+            if (i + 2 < length) {
+                grams[count++] = trigram(normalized, i);
+            }
+        }
+        return distinct(grams, count);
+    }
+    
+    /**
+     * 검색어 gram (2글자는 2-gram, 3글자 이상은 3-gram), 색인 불가(1글자 이하)면 null
+     */
+    static long[] queryGrams(String query) {
+        String normalized = normalize(query);
+        int length = normalized.length();
+        if (length < 2) {
+            return null;
+        }
+        if (length == 2) {
+            return new long[]{bigram(normalized, 0)};
+        }
+        
+        long[] grams = new long[length - 2];
+        for (int i = 0; i + 2 < length; i++) {
+            grams[i] = trigram(normalized, i);
+        }
+        return distinct(grams, grams.length);
+    }
+    
+    private static long bigram(String s, int i) {
+        return (2L << 48) | ((long) s.charAt(i) << 16) | s.charAt(i + 1);
+    }
+    
+    private static long trigram(String s, int i) {
+        return (3L << 48) | ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+    
+    private static long[] distinct(long[] grams, int count) {
+        Arrays.sort(grams, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || grams[unique - 1] != grams[i]) {
+                grams[unique++] = grams[i];
+            }
+        }
+        return unique == grams.length ? grams : Arrays.copyOf(grams, unique);
+    }
+}
@@ -0,0 +1,46 @@
+package com.diary.search;
+
+/**
+ * n-gram 샤드 메모리 사용량 보고
+ */
+public class ShardReport {
+    private final long userId;
+    private final int documents;
+    private final int deletedDocuments;
+    private final int grams;
+    private final long postings;
+    private final long estimatedBytes;
+    
+    public ShardReport(long userId, int documents, int deletedDocuments, int grams, long postings, long estimatedBytes) {
+        this.userId = userId;
+        this.documents = documents;
+        this.deletedDocuments = deletedDocuments;
+        this.grams = grams;
+        this.postings = postings;
+        this.estimatedBytes = estimatedBytes;
+    }
+    
+    public long getUserId() {
+        return userId;
+    }
+    
+    public int getDocuments() {
+        return documents;
+    }
+    
+    public int getDeletedDocuments() {
+        return deletedDocuments;
+    }
+    
+    public int getGrams() {
+        return grams;
+    }
+    
+    public long getPostings() {
+        return postings;
+    }
+    
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+}
@@ -0,0 +1,348 @@
+package com.diary.search;
+
+import com.diary.dto.TitleSuggestionDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 사용자 한 명의 제목 접두어 색인
+ *
+ * 제목의 각 단어 시작 위치를 정렬된 int 배열(문서 순번 << 10 | 위치)로 두고 이진 탐색으로 접두어 범위를 찾는다.
+ * 조회는 불변 스냅샷을 읽기만 하고(잠금 없음), 쓰기는 바뀐 문서의 키만 빼고 끼운 새 스냅샷을 만든다.
+ * 수정/삭제로 버려진 순번이 일정 비율을 넘으면 전체를 다시 정렬(compaction)한다.
+ */
+class TitleShard {
+    
+    private static final int OFFSET_BITS = 10;
+    private static final int MAX_OFFSET = (1 << OFFSET_BITS) - 1;
+    private static final double COMPACT_RATIO = 0.25;
+    private static final int MIN_COMPACT_SLOTS = 64;
+    
+    /**
+     * DB에서 처음 채울 때까지 조회/쓰기가 기다리는 신호
+     */
+    final CompletableFuture<Void> loaded = new CompletableFuture<>();
+    
+    // diaryId → 문서 순번 (this 잠금 안에서만 접근)
+    private final Map<Long, Integer> slotByDiary = new HashMap<>();
+    private int deadSlots;
+    
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    
+    /**
+     * DB 조회 결과로 채움 (id, title, diaryDate)
+     */
+    synchronized void load(List<Object[]> rows) {
+        long[] ids = new long[rows.size()];
+        String[] titles = new String[rows.size()];
+        long[] days = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            ids[i] = (Long) row[0];
+            titles[i] = (String) row[1];
+            days[i] = toDay((LocalDate) row[2]);
+        }
+        rebuild(ids, titles, days);
+    }
+    
+    synchronized void put(long diaryId, String title, LocalDate diaryDate) {
+        Snapshot next = snapshot;
+        Integer previous = slotByDiary.get(diaryId);
+        if (previous != null) {
+            next = next.withoutSlot(previous);
+            deadSlots++;
+        }
+        next = next.withDoc(diaryId, title, toDay(diaryDate));
+        slotByDiary.put(diaryId, next.ids.length - 1);
+        snapshot = next;
+        maybeCompact();
+    }
+    
+    synchronized void remove(long diaryId) {
+        Integer previous = slotByDiary.remove(diaryId);
+        if (previous == null) {
+            return;
+        }
+        snapshot = snapshot.withoutSlot(previous);
+        deadSlots++;
+        maybeCompact();
+    }
+    
+    /**
+     * 접두어로 시작하는 단어가 제목에 있는 일기 (작성일 최신순, 같은 제목은 가장 최근 것 하나)
+     */
+    List<TitleSuggestionDTO> suggest(String prefix, int limit) {
+        return snapshot.suggest(normalize(prefix), limit);
+    }
+    
+    synchronized int size() {
+        return slotByDiary.size();
+    }
+    
+    private void maybeCompact() {
+        int slots = snapshot.ids.length;
+        if (slots < MIN_COMPACT_SLOTS || deadSlots < slots * COMPACT_RATIO) {
+            return;
+        }
+        
+        Snapshot current = snapshot;
+        int live = slotByDiary.size();
+        long[] ids = new long[live];
+        String[] titles = new String[live];
+        long[] days = new long[live];
+        int i = 0;
+        for (int slot : slotByDiary.values()) {
+            ids[i] = current.ids[slot];
+            titles[i] = current.titles[slot];
+            days[i] = current.days[slot];
+            i++;
+        }
+        rebuild(ids, titles, days);
+    }
+    
+    private void rebuild(long[] ids, String[] titles, long[] days) {
+        snapshot = Snapshot.build(ids, titles, days);
+        slotByDiary.clear();
+        for (int slot = 0; slot < ids.length; slot++) {
+            slotByDiary.put(ids[slot], slot);
+        }
+        deadSlots = 0;
+    }
+    
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+    
+    private static long toDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : Long.MIN_VALUE;
+    }
+    
+    private static class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new long[0], new String[0], new String[0], new long[0], new int[0]);
+        
+        // 문서 순번별 (버려진 순번은 키가 없어 검색되지 않음)
+        final long[] ids;
+        final String[] titles;
+        final String[] normalized;
+        final long[] days;
+        // 단어 시작 위치의 접미 문자열 순으로 정렬
+        final int[] keys;
+        
+        Snapshot(long[] ids, String[] titles, String[] normalized, long[] days, int[] keys) {
+            this.ids = ids;
+            this.titles = titles;
+            this.normalized = normalized;
+            this.days = days;
+            this.keys = keys;
+        }
+        
+        static Snapshot build(long[] ids, String[] titles, long[] days) {
+            String[] normalized = new String[ids.length];
+            int[] keys = new int[0];
+            int keyCount = 0;
+            for (int slot = 0; slot < ids.length; slot++) {
+                normalized[slot] = normalize(titles[slot]);
+                int[] docKeys = wordStarts(slot, normalized[slot]);
+                if (keyCount + docKeys.length > keys.length) {
+                    keys = Arrays.copyOf(keys, Math.max(keys.length * 2, keyCount + docKeys.length));
+                }
+                System.arraycopy(docKeys, 0, keys, keyCount, docKeys.length);
+                keyCount += docKeys.length;
+            }
+            
+            Integer[] boxed = new Integer[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                boxed[i] = keys[i];
+            }
+            Arrays.sort(boxed, (a, b) -> compareSuffix(normalized, a, b));
+            int[] sorted = new int[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                sorted[i] = boxed[i];
+            }
+            return new Snapshot(ids, titles, normalized, days, sorted);
+        }
+        
+        /**
+         * 문서 하나를 새 순번으로 추가한 스냅샷 (새 키만 이진 탐색으로 끼워 넣음)
+         */
+        Snapshot withDoc(long id, String title, long day) {
+            int slot = ids.length;
+            long[] nextIds = Arrays.copyOf(ids, slot + 1);
+            String[] nextTitles = Arrays.copyOf(titles, slot + 1);
+            String[] nextNormalized = Arrays.copyOf(normalized, slot + 1);
+            long[] nextDays = Arrays.copyOf(days, slot + 1);
+            nextIds[slot] = id;
+            nextTitles[slot] = title;
+            nextNormalized[slot] = normalize(title);
+            nextDays[slot] = day;
+            
+            int[] docKeys = wordStarts(slot, nextNormalized[slot]);
+            int[] positions = new int[docKeys.length];
+            for (int i = 0; i < docKeys.length; i++) {
+                positions[i] = insertionPoint(nextNormalized, docKeys[i]);
+            }
+            // 같은 위치에 들어갈 키끼리도 순서를 맞추기 위해 (위치, 접미 문자열) 순으로 정렬
+            Integer[] order = new Integer[docKeys.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> positions[a] != positions[b]
+                    ? Integer.compare(positions[a], positions[b])
+                    : compareSuffix(nextNormalized, docKeys[a], docKeys[b]));
+            
+            int[] nextKeys = new int[keys.length + docKeys.length];
+            int from = 0;
+            int to = 0;
+            for (int index : order) {
+                int position = positions[index];
+                System.arraycopy(keys, from, nextKeys, to, position - from);
+                to += position - from;
+                from = position;
+                nextKeys[to++] = docKeys[index];
+            }
+            System.arraycopy(keys, from, nextKeys, to, keys.length - from);
+            return new Snapshot(nextIds, nextTitles, nextNormalized, nextDays, nextKeys);
+        }
+        
+        /**
+         * 문서 순번의 키를 뺀 스냅샷 (문서 배열은 공유)
+         */
+        Snapshot withoutSlot(int slot) {
+            int removed = 0;
+            for (int key : keys) {
+                if (key >>> OFFSET_BITS == slot) {
+                    removed++;
+                }
+            }
+            int[] nextKeys = new int[keys.length - removed];
+            int i = 0;
+            for (int key : keys) {
+                if (key >>> OFFSET_BITS != slot) {
+                    nextKeys[i++] = key;
+                }
+            }
+            return new Snapshot(ids, titles, normalized, days, nextKeys);
+        }
+        
+        List<TitleSuggestionDTO> suggest(String prefix, int limit) {
+            // 접두어로 시작하는 첫 키 (하한 이진 탐색)
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (comparePrefix(keys[mid], prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            
+            // 일치하는 문서 중 최신순 상위 limit개 (제목이 같으면 더 최근 것만 유지)
+            int[] top = new int[limit];
+            int count = 0;
+            for (int i = low; i < keys.length && comparePrefix(keys[i], prefix) == 0; i++) {
+                int slot = keys[i] >>> OFFSET_BITS;
+                if (count == limit && !isNewer(slot, top[count - 1])) {
+                    continue;
+                }
+                
+                int same = -1;
+                for (int j = 0; j < count; j++) {
+                    if (top[j] == slot || normalized[top[j]].equals(normalized[slot])) {
+                        same = j;
+                        break;
+                    }
+                }
+                if (same >= 0) {
+                    if (!isNewer(slot, top[same])) {
+                        continue;
+                    }
+                    System.arraycopy(top, same + 1, top, same, count - same - 1);
+                    count--;
+                }
+                
+                int position = count < limit ? count++ : limit - 1;
+                while (position > 0 && isNewer(slot, top[position - 1])) {
+                    top[position] = top[position - 1];
+                    position--;
+                }
+                top[position] = slot;
+            }
+            
+            List<TitleSuggestionDTO> suggestions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int slot = top[i];
+                LocalDate date = days[slot] != Long.MIN_VALUE ? LocalDate.ofEpochDay(days[slot]) : null;
+                suggestions.add(new TitleSuggestionDTO(ids[slot], titles[slot], date));
+            }
+            return suggestions;
+        }
+        
+        private boolean isNewer(int a, int b) {
+            return days[a] != days[b] ? days[a] > days[b] : ids[a] > ids[b];
+        }
+        
+        private int insertionPoint(String[] texts, int key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareSuffix(texts, keys[mid], key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        
+        // 키의 접미 문자열이 prefix로 시작하면 0, 아니면 사전순 대소
+        private int comparePrefix(int key, String prefix) {
+            String text = normalized[key >>> OFFSET_BITS];
+            int offset = key & MAX_OFFSET;
+            int length = Math.min(text.length() - offset, prefix.length());
+            for (int i = 0; i < length; i++) {
+                int diff = text.charAt(offset + i) - prefix.charAt(i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return text.length() - offset < prefix.length() ? -1 : 0;
+        }
+        
+        private static int compareSuffix(String[] texts, int a, int b) {
+            String textA = texts[a >>> OFFSET_BITS];
+            String textB = texts[b >>> OFFSET_BITS];
+            int offsetA = a & MAX_OFFSET;
+            int offsetB = b & MAX_OFFSET;
+            int length = Math.min(textA.length() - offsetA, textB.length() - offsetB);
+            for (int i = 0; i < length; i++) {
+                int diff = textA.charAt(offsetA + i) - textB.charAt(offsetB + i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return (textA.length() - offsetA) - (textB.length() - offsetB);
+        }
+        
+        // 단어 시작 위치마다 키 ("제주 여행" → "제주 여행", "여행")
+        private static int[] wordStarts(int slot, String text) {
+            int[] starts = new int[Math.min(text.length(), MAX_OFFSET + 1)];
+            int count = 0;
+            for (int i = 0; i < text.length() && i <= MAX_OFFSET; i++) {
+                if (Character.isLetterOrDigit(text.charAt(i))
+                        && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                    starts[count++] = slot << OFFSET_BITS | i;
+                }
+            }
+            return Arrays.copyOf(starts, count);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.diary.search;
+
+import com.diary.dto.TitleSuggestionDTO;
+import com.diary.entity.User;
+import com.diary.repository.DiaryRepository;
+import com.diary.service.DiaryChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 일기 제목 자동완성 색인
+ *
+ * 사용자별 제목 접두어 색인(TitleShard)을 메모리에 두고 입력 중인 검색어로 최근 일기 제목을 추천한다.
+ * 샤드는 첫 요청 시 DB에서 만들고, 이후에는 일기 작성/수정/삭제 커밋 이벤트로 갱신되므로 조회에 DB를 쓰지 않는다.
+ * 샤드 수가 max-users를 넘으면 가장 오래 사용되지 않은 사용자 샤드부터 버린다.
+ */
+@Component
+public class TitleSuggestIndex {
+    
+    @Autowired
+    private DiaryRepository diaryRepository;
+    
+    @Value("${search.suggest.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${search.suggest.max-users:1000}")
+    private int maxUsers;
+    
+    // 접근 순서 기반 LinkedHashMap (LRU)
+    private final LinkedHashMap<Long, TitleShard> shards = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 접두어로 시작하는 단어가 제목에 있는 일기를 최신순으로 최대 limit개 (같은 제목은 하나만)
+     */
+    public List<TitleSuggestionDTO> suggest(User user, String prefix, int limit) {
+        return getOrBuild(user).suggest(prefix, limit);
+    }
+    
+    /**
+     * 일기 쓰기가 커밋되면 해당 사용자 샤드 갱신 (샤드가 없으면 다음 조회 때 DB에서 만듦)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        
+        switch (event.getType()) {
+            case CREATED:
+            case UPDATED:
+                withShard(event.getUserId(), shard -> shard.put(event.getDiaryId(), event.getTitle(), event.getDiaryDate()));
+                break;
+            case DELETED:
+                withShard(event.getUserId(), shard -> shard.remove(event.getDiaryId()));
+                break;
+            case IMPORTED:
+                // 일괄 추가는 건별 정보가 없으므로 샤드를 버리고 다음 조회 때 다시 만듦
+                invalidate(event.getUserId());
+                break;
+            default:
+                break;
+        }
+    }
+    
+    public void invalidate(Long userId) {
+        synchronized (shards) {
+            shards.remove(userId);
+        }
+    }
+    
+    public int getUserCount() {
+        synchronized (shards) {
+            return shards.size();
+        }
+    }
+    
+    public long getBuildCount() {
+        return builds.get();
+    }
+    
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+    
+    /**
+     * 샤드 조회, 없으면 DB에서 구축
+     * 구축 중인 샤드를 먼저 등록하여 동시 요청/갱신이 구축 완료를 기다리게 한다.
+     */
+    private TitleShard getOrBuild(User user) {
+        TitleShard shard;
+        boolean created = false;
+        synchronized (shards) {
+            shard = shards.get(user.getId());
+            if (shard == null) {
+                shard = new TitleShard();
+                shards.put(user.getId(), shard);
+                created = true;
+                
+                Iterator<Map.Entry<Long, TitleShard>> iterator = shards.entrySet().iterator();
+                while (shards.size() > maxUsers && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+        
+        if (created) {
+            try {
+                shard.load(diaryRepository.findTitleSourceByUser(user));
+                builds.incrementAndGet();
+                shard.loaded.complete(null);
+            } catch (RuntimeException e) {
+                synchronized (shards) {
+                    shards.remove(user.getId(), shard);
+                }
+                shard.loaded.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            awaitLoaded(shard);
+        }
+        return shard;
+    }
+    
+    private void withShard(Long userId, Consumer<TitleShard> action) {
+        TitleShard shard;
+        synchronized (shards) {
+            shard = shards.get(userId);
+        }
+        if (shard == null) {
+            return;
+        }
+        
+        // 구축 중이면 끝난 뒤 적용 (구축 시점 DB 조회에 이 변경이 빠졌을 수 있음)
+        try {
+            shard.loaded.join();
+        } catch (CompletionException e) {
+            return;
+        }
+        action.accept(shard);
+    }
+    
+    private static void awaitLoaded(TitleShard shard) {
+        try {
+            shard.loaded.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.diary.service;
+
+import com.diary.cache.HibernateCacheEvictor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * UUID 파일명 이미지를 내용 주소 저장소로 옮기는 명령
+ *
+ * --file.migrate-content-addressed=true 옵션으로 실행하면 업로드 디렉토리 최상위의 기존 파일을
+ * 해시 파일명으로 저장하고 diaries.image_path를 바꾼 뒤 원본을 지운다.
+ * 파일 단위로 진행하므로 중간에 멈춰도 다시 실행하면 남은 파일부터 이어서 처리된다.
+ */
+@Component
+@ConditionalOnProperty(name = "file.migrate-content-addressed", havingValue = "true")
+public class ContentAddressedMigrationRunner implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(ContentAddressedMigrationRunner.class);
+    
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+    
+    @Autowired
+    private FileService fileService;
+    
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private HibernateCacheEvictor hibernateCacheEvictor;
+    
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path root = Paths.get(uploadDir);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(root)) {
+            files = listing.filter(Files::isRegularFile)
+                    .filter(this::isLegacyFile)
+                    .collect(Collectors.toList());
+        }
+        
+        long start = System.currentTimeMillis();
+        int migrated = 0;
+        int deduplicated = 0;
+        int updatedRows = 0;
+        long reclaimedBytes = 0;
+        
+        for (Path file : files) {
+            String legacyName = file.getFileName().toString();
+            String extension = legacyName.substring(legacyName.lastIndexOf('.') + 1);
+            long size = Files.size(file);
+            
+            long before = fileService.getDeduplicatedCount();
+            String filename;
+            try (InputStream in = Files.newInputStream(file)) {
+                filename = fileService.storeContentAddressed(in, extension);
+            }
+            if (fileService.getDeduplicatedCount() > before) {
+                deduplicated++;
+                reclaimedBytes += size;
+            }
+            
+            // 새 파일이 자리 잡은 뒤에 참조를 바꾸고, 마지막에 원본 삭제
+            updatedRows += jdbcTemplate.update("UPDATE diaries SET image_path = ? WHERE image_path = ?", filename, legacyName);
+            dataVersionService.bumpByImagePath(filename);
+            imageDerivativeService.deleteDerivatives(legacyName);
+            Files.delete(file);
+            imageDerivativeService.enqueue(filename);
+            migrated++;
+            
+            if (migrated % 100 == 0) {
+                log.info("이미지 저장소 이전 진행: {}/{}개", migrated, files.size());
+            }
+        }
+        
+        if (updatedRows > 0) {
+            hibernateCacheEvictor.diariesUpdated();
+        }
+        
+        log.info("이미지 저장소 이전 완료: {}개 파일 (중복 {}개, {}바이트 회수), 일기 {}건 갱신, {}ms",
+                migrated, deduplicated, reclaimedBytes, updatedRows, System.currentTimeMillis() - start);
+    }
+    
+    // 숨김(임시) 파일과 이미 해시 이름인 파일은 제외
+    private boolean isLegacyFile(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (name.startsWith(".") || dot < 0 || FileService.isContentAddressed(name)) {
+            return false;
+        }
+        return FileService.ALLOWED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,51 @@
+package com.diary.service;
+
+import com.diary.entity.User;
+import com.diary.repository.UserDataVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 사용자별 데이터 변경 버전 관리
+ *
+ * 일기 쓰기 트랜잭션에서 버전을 함께 올리고, 목록/상세/통계 조회는 이 버전으로 ETag를 만들어
+ * If-None-Match가 일치하면 diaries 테이블을 읽지 않고 304로 응답한다.
+ */
+@Service
+@Transactional
+public class DataVersionService {
+    
+    @Autowired
+    private UserDataVersionRepository userDataVersionRepository;
+    
+    /**
+     * 사용자의 일기/통계가 바뀌었음을 기록
+     */
+    public void bump(User user) {
+        userDataVersionRepository.increment(user.getId());
+    }
+    
+    /**
+     * 이미지 파일명이 바뀐 일기의 사용자들 버전 증가 (저장소 이전용)
+     */
+    public int bumpByImagePath(String imagePath) {
+        return userDataVersionRepository.incrementByImagePath(imagePath);
+    }
+    
+    /**
+     * 현재 버전 (변경 이력이 없으면 0)
+     */
+    @Transactional(readOnly = true)
+    public long getVersion(User user) {
+        return userDataVersionRepository.findVersionByUserId(user.getId()).orElse(0L);
+    }
+    
+    /**
+     * 사용자 데이터 ETag (응답 본문은 사용자별로 다르므로 사용자 ID 포함, 직렬화 바이트가 아닌 의미 기준이라 약한 ETag)
+     */
+    @Transactional(readOnly = true)
+    public String getETag(User user) {
+        return "W/\"" + user.getId() + "-" + getVersion(user) + "\"";
+    }
+}
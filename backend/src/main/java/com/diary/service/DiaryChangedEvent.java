@@ -0,0 +1,66 @@
+package com.diary.service;
+
+import com.diary.entity.Diary;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자의 일기(및 일기에서 파생된 통계)가 바뀌었음을 알리는 이벤트
+ *
+ * 쓰기 트랜잭션 안에서 발행되며, 구독자는 보통 커밋 후(@TransactionalEventListener) 처리한다.
+ */
+public class DiaryChangedEvent {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        IMPORTED,
+        // 단어 색인 재구축/월별 카운터 보정처럼 일기는 그대로지만 통계 원천이 바뀐 경우
+        REINDEXED
+    }
+    
+    private final Long userId;
+    private final Type type;
+    
+    // 한 건 작성/수정/삭제인 경우의 일기 정보 (일괄 변경이면 null)
+    private final Long diaryId;
+    private final String title;
+    private final LocalDate diaryDate;
+    
+    public DiaryChangedEvent(Long userId, Type type) {
+        this(userId, type, null, null, null);
+    }
+    
+    public DiaryChangedEvent(Long userId, Type type, Diary diary) {
+        this(userId, type, diary.getId(), diary.getTitle(), diary.getDiaryDate());
+    }
+    
+    private DiaryChangedEvent(Long userId, Type type, Long diaryId, String title, LocalDate diaryDate) {
+        this.userId = userId;
+        this.type = type;
+        this.diaryId = diaryId;
+        this.title = title;
+        this.diaryDate = diaryDate;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Long getDiaryId() {
+        return diaryId;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public LocalDate getDiaryDate() {
+        return diaryDate;
+    }
+}
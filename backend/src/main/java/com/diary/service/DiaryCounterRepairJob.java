@@ -0,0 +1,68 @@
+package com.diary.service;
+
+import com.diary.entity.User;
+import com.diary.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 월별 카운터 정합성 점검/복구 작업
+ *
+ * 주기적으로 모든 사용자의 카운터를 원본 테이블 집계와 비교하고 어긋난 사용자만 교체한다.
+ * 카운터가 비어 있는 기존 사용자도 같은 경로로 백필된다.
+ * 배포 직후 바로 백필하려면 --diary-counter.repair=true 옵션으로 실행하면 시작 시 한 번 점검한다.
+ */
+@Component
+public class DiaryCounterRepairJob implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(DiaryCounterRepairJob.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private DiaryCounterService diaryCounterService;
+    
+    @Value("${diary-counter.repair:false}")
+    private boolean repairOnStartup;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (repairOnStartup) {
+            run();
+        }
+    }
+    
+    /**
+     * 정기 점검 (diary-counter.repair-cron, "-"이면 비활성화)
+     */
+    @Scheduled(cron = "${diary-counter.repair-cron:0 0 4 * * *}")
+    public void run() {
+        long start = System.currentTimeMillis();
+        int checked = 0;
+        int repaired = 0;
+        int page = 0;
+        Page<User> users;
+        
+        do {
+            users = userRepository.findAll(PageRequest.of(page++, 100, Sort.by("id")));
+            for (User user : users) {
+                if (diaryCounterService.verifyAndRepair(user)) {
+                    repaired++;
+                }
+                checked++;
+            }
+        } while (users.hasNext());
+        
+        log.info("월별 카운터 점검 완료: 점검 {}명, 복구 {}명, {}ms", checked, repaired, System.currentTimeMillis() - start);
+    }
+}
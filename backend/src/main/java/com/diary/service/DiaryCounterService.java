@@ -0,0 +1,147 @@
+package com.diary.service;
+
+import com.diary.dto.StatisticsDTO;
+import com.diary.entity.User;
+import com.diary.repository.DiaryRepository;
+import com.diary.repository.UserDiaryTotalRepository;
+import com.diary.repository.UserMonthlyCountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 월별/총 일기 수 카운터 관리
+ *
+ * 일기 쓰기 트랜잭션에서 카운터를 함께 갱신하여 통계 조회 시
+ * GROUP BY EXTRACT 전체 스캔 없이 월 개수만큼의 행만 읽도록 한다.
+ */
+@Service
+@Transactional
+public class DiaryCounterService {
+    
+    @Autowired
+    private UserMonthlyCountRepository userMonthlyCountRepository;
+    
+    @Autowired
+    private UserDiaryTotalRepository userDiaryTotalRepository;
+    
+    @Autowired
+    private DiaryRepository diaryRepository;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * 일기 작성 시 카운터 증가
+     */
+    public void onDiaryCreated(User user, LocalDate diaryDate) {
+        userMonthlyCountRepository.increment(user.getId(), diaryDate, 1);
+    }
+    
+    /**
+     * 일괄 가져오기 시 월별로 모아서 카운터 증가
+     */
+    public void onDiariesCreated(User user, List<LocalDate> diaryDates) {
+        Map<YearMonth, Integer> months = new TreeMap<>();
+        for (LocalDate diaryDate : diaryDates) {
+            months.merge(YearMonth.from(diaryDate), 1, Integer::sum);
+        }
+        months.forEach((month, count) -> userMonthlyCountRepository.increment(user.getId(), month.atDay(1), count));
+    }
+    
+    /**
+     * 일기 날짜 변경 시 월 이동 반영
+     */
+    public void onDiaryDateChanged(User user, LocalDate oldDate, LocalDate newDate) {
+        if (oldDate.getYear() == newDate.getYear() && oldDate.getMonthValue() == newDate.getMonthValue()) {
+            return;
+        }
+        userMonthlyCountRepository.increment(user.getId(), oldDate, -1);
+        userMonthlyCountRepository.increment(user.getId(), newDate, 1);
+    }
+    
+    /**
+     * 일기 삭제 시 카운터 감소
+     */
+    public void onDiaryDeleted(User user, LocalDate diaryDate) {
+        userMonthlyCountRepository.increment(user.getId(), diaryDate, -1);
+    }
+    
+    /**
+     * 월별 일기 작성 통계 (카운터 조회)
+     */
+    @Transactional(readOnly = true)
+    public List<StatisticsDTO.MonthlyStatistic> getMonthlyStatistics(User user) {
+        return userMonthlyCountRepository.findByUserIdOrderByDiaryYearDescDiaryMonthDesc(user.getId()).stream()
+                .map(count -> new StatisticsDTO.MonthlyStatistic(count.getDiaryYear(), count.getDiaryMonth(), count.getDiaryCount()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 총 일기 수 (카운터 조회)
+     */
+    @Transactional(readOnly = true)
+    public long getTotalCount(User user) {
+        return userDiaryTotalRepository.findById(user.getId())
+                .map(total -> total.getTotalCount())
+                .orElse(0L);
+    }
+    
+    /**
+     * 원본 diaries 테이블과 카운터 비교 후 불일치 시 교체
+     *
+     * @return 불일치가 있어 복구했으면 true
+     */
+    public boolean verifyAndRepair(User user) {
+        // 쓰기 경로와 같은 순서로 총계 행을 먼저 잠가 집계 중 카운터가 바뀌지 않게 함
+        userMonthlyCountRepository.lockTotal(user.getId());
+        
+        List<long[]> expected = new ArrayList<>();
+        long expectedTotal = 0;
+        for (Object[] result : diaryRepository.getMonthlyStatistics(user)) {
+            // EXTRACT 결과 타입은 Hibernate 버전에 따라 다름 (6.x: Integer, 5.x: BigDecimal)
+            long year = ((Number) result[0]).longValue();
+            long month = ((Number) result[1]).longValue();
+            long count = ((Number) result[2]).longValue();
+            expected.add(new long[]{year, month, count});
+            expectedTotal += count;
+        }
+        
+        List<StatisticsDTO.MonthlyStatistic> actual = getMonthlyStatistics(user);
+        if (matches(expected, actual) && expectedTotal == getTotalCount(user)) {
+            return false;
+        }
+        
+        userMonthlyCountRepository.replaceAll(user.getId(), expected, expectedTotal);
+        dataVersionService.bump(user);
+        eventPublisher.publishEvent(new DiaryChangedEvent(user.getId(), DiaryChangedEvent.Type.REINDEXED));
+        return true;
+    }
+    
+    private boolean matches(List<long[]> expected, List<StatisticsDTO.MonthlyStatistic> actual) {
+        if (expected.size() != actual.size()) {
+            return false;
+        }
+        // 둘 다 연도/월 내림차순으로 정렬되어 있음
+        for (int i = 0; i < expected.size(); i++) {
+            long[] row = expected.get(i);
+            StatisticsDTO.MonthlyStatistic stat = actual.get(i);
+            if (row[0] != stat.getYear() || row[1] != stat.getMonth() || row[2] != stat.getCount()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,123 @@
+package com.diary.service;
+
+import com.diary.dto.DiaryDTO;
+import com.diary.entity.Diary;
+import com.diary.entity.User;
+import com.diary.repository.DiaryRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 일기 내보내기 (백업)
+ *
+ * 일기를 DB 커서로 한 건씩 읽어 응답 스트림에 바로 쓰고, 쓴 엔티티는 영속성 컨텍스트에서 분리하여
+ * 기록 양과 무관하게 일정한 메모리로 동작한다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DiaryExportService {
+    
+    public static final String NDJSON_ENTRY = "diaries.ndjson";
+    public static final String IMAGE_DIR = "images/";
+    
+    @Autowired
+    private DiaryRepository diaryRepository;
+    
+    @Autowired
+    private FileService fileService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * NDJSON 내보내기 (한 줄에 일기 하나)
+     *
+     * @return 내보낸 일기 수
+     */
+    public long exportNdjson(User user, OutputStream out) throws IOException {
+        long count = writeDiaries(user, out);
+        out.flush();
+        return count;
+    }
+    
+    /**
+     * ZIP 내보내기 (diaries.ndjson + images/첨부 이미지)
+     *
+     * @return 내보낸 일기 수
+     */
+    public long exportZip(User user, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        
+        zip.putNextEntry(new ZipEntry(NDJSON_ENTRY));
+        long count = writeDiaries(user, zip);
+        zip.closeEntry();
+        
+        try (Stream<String> imagePaths = diaryRepository.streamImagePathsByUser(user)) {
+            Iterator<String> iterator = imagePaths.iterator();
+            while (iterator.hasNext()) {
+                writeImage(zip, iterator.next());
+            }
+        }
+        
+        zip.finish();
+        out.flush();
+        return count;
+    }
+    
+    private long writeDiaries(User user, OutputStream out) throws IOException {
+        // 대상 스트림(ZIP 엔트리 등)은 닫지 않음
+        ObjectWriter writer = objectMapper.writerFor(DiaryDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        
+        long count = 0;
+        try (Stream<Diary> diaries = diaryRepository.streamByUser(user);
+             SequenceWriter sequence = writer.writeValues(out)) {
+            Iterator<Diary> iterator = diaries.iterator();
+            while (iterator.hasNext()) {
+                Diary diary = iterator.next();
+                sequence.write(new DiaryDTO(diary));
+                entityManager.detach(diary);
+                count++;
+            }
+        }
+        
+        if (count > 0) {
+            out.write('\n');
+        }
+        return count;
+    }
+    
+    private void writeImage(ZipOutputStream zip, String filename) throws IOException {
+        Path uploadDir = fileService.getFilePath("").toAbsolutePath().normalize();
+        Path file = fileService.getFilePath(filename).toAbsolutePath().normalize();
+        
+        // 업로드 디렉토리 밖을 가리키거나 이미 지워진 파일은 건너뜀
+        if (!file.startsWith(uploadDir) || !Files.isRegularFile(file)) {
+            return;
+        }
+        
+        zip.putNextEntry(new ZipEntry(IMAGE_DIR + file.getFileName()));
+        Files.copy(file, zip);
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,205 @@
+package com.diary.service;
+
+import com.diary.cache.HibernateCacheEvictor;
+import com.diary.dto.DiaryDTO;
+import com.diary.dto.ImportResultDTO;
+import com.diary.entity.User;
+import com.diary.search.NgramSearchEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 일기 일괄 가져오기
+ *
+ * JSON 배열 또는 NDJSON을 스트리밍으로 읽어 batch-size 단위로 JDBC batch INSERT 후 청크마다 커밋한다.
+ * (IDENTITY 키 전략에서는 Hibernate insert batching이 꺼지므로 JDBC로 직접 넣고,
+ *  reWriteBatchedInserts로 드라이버가 multi-row INSERT로 바꿔 보낸다.)
+ * 단어 색인과 월별 카운터는 청크 단위로 모아서 같은 트랜잭션에서 갱신한다.
+ * 중간에 JSON이 깨지면 그 앞까지 읽은 항목은 저장하고, 실패 위치(failedRow)를 결과로 돌려주어
+ * 클라이언트가 그 항목부터 다시 보낼 수 있게 한다. (이미 커밋된 청크는 되돌리지 않음)
+ */
+@Service
+public class DiaryImportService {
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO diaries (user_id, title, content, diary_date, image_path, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_REPORTED_ERRORS = 20;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private DiaryService diaryService;
+    
+    @Autowired
+    private WordIndexService wordIndexService;
+    
+    @Autowired
+    private DiaryCounterService diaryCounterService;
+    
+    @Autowired
+    private NgramSearchEngine ngramSearchEngine;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private HibernateCacheEvictor hibernateCacheEvictor;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${import.batch-size:500}")
+    private int defaultBatchSize;
+    
+    @Value("${import.max-batch-size:5000}")
+    private int maxBatchSize;
+    
+    /**
+     * 일괄 가져오기
+     *
+     * @param batchSize 청크 크기 (0 이하면 기본값)
+     * @param perRow    true면 비교용으로 기존 DiaryService.createDiary를 한 건씩 호출
+     * @return 결과 (입력을 끝까지 읽지 못했으면 completed=false, failedRow=읽지 못한 항목 번호)
+     */
+    public ImportResultDTO importDiaries(User user, InputStream in, int batchSize, boolean perRow) {
+        int chunkSize = batchSize > 0 ? Math.min(batchSize, maxBatchSize) : defaultBatchSize;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        
+        long start = System.currentTimeMillis();
+        long imported = 0;
+        long skipped = 0;
+        long row = 0;
+        int batches = 0;
+        List<String> errors = new ArrayList<>();
+        List<DiaryDTO> chunk = new ArrayList<>(chunkSize);
+        Long failedRow = null;
+        
+        // 최상위가 배열이면 요소 단위로, 아니면 값 단위(NDJSON)로 순회
+        try (MappingIterator<DiaryDTO> iterator = objectMapper.readerFor(DiaryDTO.class).readValues(in)) {
+            while (iterator.hasNextValue()) {
+                DiaryDTO diary = iterator.nextValue();
+                row++;
+                
+                String error = validate(diary);
+                if (error != null) {
+                    skipped++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(row + "번째 항목: " + error);
+                    }
+                    continue;
+                }
+                
+                chunk.add(diary);
+                if (chunk.size() == chunkSize) {
+                    imported += writeChunk(transaction, user, chunk, perRow);
+                    batches++;
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            // 깨진 JSON, 타입 불일치, 요청 본문 읽기 실패 - 이후 항목은 읽을 수 없으므로 여기서 중단
+            failedRow = row + 1;
+            String reason = e instanceof JsonProcessingException ? ((JsonProcessingException) e).getOriginalMessage() : e.getMessage();
+            errors.add(failedRow + "번째 항목부터 읽을 수 없습니다: " + reason);
+        }
+        
+        // 실패 전까지 정상적으로 읽은 항목은 저장 (재전송은 failedRow부터)
+        if (!chunk.isEmpty()) {
+            imported += writeChunk(transaction, user, chunk, perRow);
+            batches++;
+        }
+        
+        return new ImportResultDTO(perRow ? "per-row" : "batch", imported, skipped, batches,
+                System.currentTimeMillis() - start, errors, failedRow);
+    }
+    
+    // 청크 트랜잭션이 커밋되면 n-gram 샤드도 무효화 (뒤 청크가 실패해도 커밋된 행과 어긋나지 않음)
+    private int writeChunk(TransactionTemplate transaction, User user, List<DiaryDTO> chunk, boolean perRow) {
+        return transaction.execute(status -> {
+            int written = perRow ? saveEach(user, chunk) : insertBatch(user, chunk);
+            ngramSearchEngine.invalidate(user);
+            return written;
+        });
+    }
+    
+    // 비교용 기존 경로 (행마다 save → INSERT 왕복)
+    private int saveEach(User user, List<DiaryDTO> chunk) {
+        for (DiaryDTO diary : chunk) {
+            diaryService.createDiary(user, diary);
+        }
+        return chunk.size();
+    }
+    
+    private int insertBatch(User user, List<DiaryDTO> chunk) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(chunk.size());
+        List<String> contents = new ArrayList<>(chunk.size());
+        List<LocalDate> dates = new ArrayList<>(chunk.size());
+        
+        for (DiaryDTO diary : chunk) {
+            LocalDate diaryDate = diary.getDiaryDate() != null ? diary.getDiaryDate() : LocalDate.now();
+            Timestamp createdAt = diary.getCreatedAt() != null ? Timestamp.valueOf(diary.getCreatedAt()) : now;
+            Timestamp updatedAt = diary.getUpdatedAt() != null ? Timestamp.valueOf(diary.getUpdatedAt()) : createdAt;
+            rows.add(new Object[]{user.getId(), diary.getTitle(), diary.getContent(), Date.valueOf(diaryDate),
+                    diary.getImagePath(), createdAt, updatedAt});
+            contents.add(diary.getContent());
+            dates.add(diaryDate);
+        }
+        
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        hibernateCacheEvictor.diariesInserted();
+        wordIndexService.onDiariesCreated(user, contents);
+        diaryCounterService.onDiariesCreated(user, dates);
+        dataVersionService.bump(user);
+        eventPublisher.publishEvent(new DiaryChangedEvent(user.getId(), DiaryChangedEvent.Type.IMPORTED));
+        return chunk.size();
+    }
+    
+    // DiaryDTO 검증 규칙과 동일
+    private String validate(DiaryDTO diary) {
+        if (diary == null) {
+            return "비어 있는 항목입니다";
+        }
+        if (diary.getTitle() == null || diary.getTitle().isBlank()) {
+            return "제목은 필수입니다";
+        }
+        if (diary.getTitle().length() > MAX_TITLE_LENGTH) {
+            return "제목은 255자를 초과할 수 없습니다";
+        }
+        if (diary.getContent() == null || diary.getContent().isBlank()) {
+            return "내용은 필수입니다";
+        }
+        // 내보내기 파일의 imagePath는 업로드된 파일명이어야 함 (디렉토리 밖 파일을 가리키지 않도록)
+        if (diary.getImagePath() != null && !FileService.isStoredFilename(diary.getImagePath())) {
+            return "이미지 경로가 올바르지 않습니다";
+        }
+        return null;
+    }
+}
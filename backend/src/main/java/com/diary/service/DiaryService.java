@@ -1,10 +1,16 @@
 package com.diary.service;
 
+import com.diary.dto.CursorPage;
+import com.diary.dto.DiaryCursor;
 import com.diary.dto.DiaryDTO;
+import com.diary.dto.DiarySummaryDTO;
 import com.diary.entity.Diary;
 import com.diary.entity.User;
 import com.diary.repository.DiaryRepository;
+import com.diary.search.NgramField;
+import com.diary.search.NgramSearchEngine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -12,7 +18,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -21,14 +31,28 @@ public class DiaryService {
     @Autowired
     private DiaryRepository diaryRepository;
     
+    @Autowired
+    private WordIndexService wordIndexService;
+    
+    @Autowired
+    private DiaryCounterService diaryCounterService;
+    
+    @Autowired
+    private NgramSearchEngine ngramSearchEngine;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * 일기 목록 조회 (페이징)
      */
     @Transactional(readOnly = true)
-    public Page<DiaryDTO> getDiaries(User user, int page, int size) {
+    public Page<DiarySummaryDTO> getDiaries(User user, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Diary> diaries = diaryRepository.findByUserOrderByDiaryDateDesc(user, pageable);
-        return diaries.map(DiaryDTO::new);
+        return diaryRepository.findSummariesByUser(user, pageable);
     }
     
     /**
@@ -56,6 +80,11 @@ public class DiaryService {
         }
         
         Diary savedDiary = diaryRepository.save(diary);
+        wordIndexService.onDiaryCreated(user, savedDiary.getContent());
+        diaryCounterService.onDiaryCreated(user, savedDiary.getDiaryDate());
+        ngramSearchEngine.onDiarySaved(user, savedDiary);
+        dataVersionService.bump(user);
+        eventPublisher.publishEvent(new DiaryChangedEvent(user.getId(), DiaryChangedEvent.Type.CREATED, savedDiary));
         return new DiaryDTO(savedDiary);
     }
     
@@ -67,6 +96,8 @@ public class DiaryService {
         
         if (optionalDiary.isPresent()) {
             Diary diary = optionalDiary.get();
+            String oldContent = diary.getContent();
+            LocalDate oldDate = diary.getDiaryDate();
             diary.setTitle(diaryDTO.getTitle());
             diary.setContent(diaryDTO.getContent());
             
@@ -80,6 +111,11 @@ public class DiaryService {
             
             diary.preUpdate(); // 업데이트 시간 갱신
             Diary updatedDiary = diaryRepository.save(diary);
+            wordIndexService.onDiaryUpdated(user, oldContent, updatedDiary.getContent());
+            diaryCounterService.onDiaryDateChanged(user, oldDate, updatedDiary.getDiaryDate());
+            ngramSearchEngine.onDiarySaved(user, updatedDiary);
+            dataVersionService.bump(user);
+            eventPublisher.publishEvent(new DiaryChangedEvent(user.getId(), DiaryChangedEvent.Type.UPDATED, updatedDiary));
             return Optional.of(new DiaryDTO(updatedDiary));
         }
         
@@ -94,6 +130,11 @@ public class DiaryService {
         
         if (diary.isPresent()) {
             diaryRepository.delete(diary.get());
+            wordIndexService.onDiaryDeleted(user, diary.get().getContent());
+            diaryCounterService.onDiaryDeleted(user, diary.get().getDiaryDate());
+            ngramSearchEngine.onDiaryDeleted(user, diaryId);
+            dataVersionService.bump(user);
+            eventPublisher.publishEvent(new DiaryChangedEvent(user.getId(), DiaryChangedEvent.Type.DELETED, diary.get()));
             return true;
         }
         
@@ -104,30 +145,133 @@ public class DiaryService {
      * 일기 검색 - 제목
      */
     @Transactional(readOnly = true)
-    public Page<DiaryDTO> searchByTitle(User user, String keyword, int page, int size) {
+    public Page<DiarySummaryDTO> searchByTitle(User user, String keyword, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Diary> diaries = diaryRepository.findByUserAndTitleContainingIgnoreCase(user, keyword, pageable);
-        return diaries.map(DiaryDTO::new);
+        return diaryRepository.findSummariesByUserAndTitleContaining(user, keyword, pageable);
     }
     
     /**
      * 일기 검색 - 내용
      */
     @Transactional(readOnly = true)
-    public Page<DiaryDTO> searchByContent(User user, String keyword, int page, int size) {
+    public Page<DiarySummaryDTO> searchByContent(User user, String keyword, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Diary> diaries = diaryRepository.findByUserAndContentContainingIgnoreCase(user, keyword, pageable);
-        return diaries.map(DiaryDTO::new);
+        return diaryRepository.findSummariesByUserAndContentContaining(user, keyword, pageable);
     }
     
     /**
      * 일기 검색 - 날짜 범위
      */
     @Transactional(readOnly = true)
-    public Page<DiaryDTO> searchByDateRange(User user, LocalDate startDate, LocalDate endDate, int page, int size) {
+    public Page<DiarySummaryDTO> searchByDateRange(User user, LocalDate startDate, LocalDate endDate, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return diaryRepository.findSummariesByUserAndDateRange(user, startDate, endDate, pageable);
+    }
+    
+    /**
+     * 일기 검색 - n-gram 색인 (색인 비활성/처리 불가 검색어는 LIKE 검색으로 대체)
+     */
+    @Transactional(readOnly = true)
+    public Page<DiarySummaryDTO> searchByNgram(User user, NgramField field, String keyword, int page, int size) {
+        long[] candidates = ngramSearchEngine.isEnabled()
+                ? ngramSearchEngine.candidates(user, field, keyword)
+                : null;
+        
+        if (candidates == null) {
+            return field == NgramField.TITLE
+                    ? searchByTitle(user, keyword, page, size)
+                    : searchByContent(user, keyword, page, size);
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
-        Page<Diary> diaries = diaryRepository.findByUserAndDiaryDateBetweenOrderByDiaryDateDesc(user, startDate, endDate, pageable);
-        return diaries.map(DiaryDTO::new);
+        if (candidates.length == 0) {
+            return Page.empty(pageable);
+        }
+        
+        List<Long> ids = Arrays.stream(candidates).boxed().collect(Collectors.toList());
+        return field == NgramField.TITLE
+                ? diaryRepository.findSummariesByUserAndIdInAndTitleContaining(user, ids, keyword, pageable)
+                : diaryRepository.findSummariesByUserAndIdInAndContentContaining(user, ids, keyword, pageable);
+    }
+    
+    /**
+     * 일기 전문 검색 - 제목/내용/날짜 조건 결합, 관련도 순
+     */
+    @Transactional(readOnly = true)
+    public Page<DiarySummaryDTO> fullTextSearch(User user, String title, String content,
+                                                LocalDate startDate, LocalDate endDate, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return diaryRepository.fullTextSearch(user, title, content, startDate, endDate, pageable);
+    }
+    
+    /**
+     * 일기 목록 조회 (커서)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DiarySummaryDTO> getDiariesByCursor(User user, String cursor, int size) {
+        DiaryCursor after = DiaryCursor.decode(cursor);
+        List<DiarySummaryDTO> diaries = diaryRepository.findSummariesByUserAfterCursor(
+                user, after.getDiaryDate(), after.getId(), cursorPageable(size));
+        return toCursorPage(diaries, size);
+    }
+    
+    /**
+     * 일기 검색 - 제목 (커서)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DiarySummaryDTO> searchByTitleCursor(User user, String keyword, String cursor, int size) {
+        DiaryCursor after = DiaryCursor.decode(cursor);
+        List<DiarySummaryDTO> diaries = diaryRepository.findSummariesByUserAndTitleAfterCursor(
+                user, keyword, after.getDiaryDate(), after.getId(), cursorPageable(size));
+        return toCursorPage(diaries, size);
+    }
+    
+    /**
+     * 일기 검색 - 내용 (커서)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DiarySummaryDTO> searchByContentCursor(User user, String keyword, String cursor, int size) {
+        DiaryCursor after = DiaryCursor.decode(cursor);
+        List<DiarySummaryDTO> diaries = diaryRepository.findSummariesByUserAndContentAfterCursor(
+                user, keyword, after.getDiaryDate(), after.getId(), cursorPageable(size));
+        return toCursorPage(diaries, size);
+    }
+    
+    /**
+     * 일기 검색 - 날짜 범위 (커서)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DiarySummaryDTO> searchByDateRangeCursor(User user, LocalDate startDate, LocalDate endDate, String cursor, int size) {
+        DiaryCursor after = DiaryCursor.decode(cursor);
+        List<DiarySummaryDTO> diaries = diaryRepository.findSummariesByUserAndDateRangeAfterCursor(
+                user, startDate, endDate, after.getDiaryDate(), after.getId(), cursorPageable(size));
+        return toCursorPage(diaries, size);
+    }
+    
+    /**
+     * 다음 페이지 존재 여부 확인을 위해 size + 1개 조회
+     */
+    private Pageable cursorPageable(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다.");
+        }
+        return PageRequest.of(0, size + 1);
+    }
+    
+    /**
+     * size + 1개 조회 결과로 다음 페이지 존재 여부와 커서 계산
+     */
+    private CursorPage<DiarySummaryDTO> toCursorPage(List<DiarySummaryDTO> diaries, int size) {
+        boolean hasNext = diaries.size() > size;
+        List<DiarySummaryDTO> page = hasNext ? new ArrayList<>(diaries.subList(0, size)) : diaries;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            DiarySummaryDTO last = page.get(page.size() - 1);
+            nextCursor = new DiaryCursor(last.getDiaryDate(), last.getId()).encode();
+        }
+        
+        return new CursorPage<>(page, nextCursor, size);
     }
     
     /**
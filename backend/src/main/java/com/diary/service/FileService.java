@@ -1,17 +1,29 @@
 package com.diary.service;
 
+import com.diary.repository.DiaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 @Service
 public class FileService {
@@ -19,9 +31,30 @@ public class FileService {
     @Value("${file.upload-dir}")
     private String uploadDir;
     
-    private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("jpg", "jpeg", "png", "gif");
+    // true면 SHA-256 해시를 파일명으로 사용하여 같은 이미지를 한 번만 저장
+    @Value("${file.content-addressed:false}")
+    private boolean contentAddressed;
+    
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+    
+    @Autowired
+    private DiaryRepository diaryRepository;
+    
+    public static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("jpg", "jpeg", "png", "gif");
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
     
+    // 내용 주소 파일명: {sha256 hex}.{확장자}
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]+");
+    
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLong deduplicatedCount = new AtomicLong();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private final AtomicLong servedCount = new AtomicLong();
+    private final AtomicLong servedBytes = new AtomicLong();
+    private final AtomicLong derivativeHits = new AtomicLong();
+    private final AtomicLong derivativeFallbacks = new AtomicLong();
+    
     /**
      * 파일 업로드
      */
@@ -35,24 +68,107 @@ public class FileService {
             Files.createDirectories(uploadPath);
         }
         
-        // 고유한 파일명 생성
         String originalFilename = file.getOriginalFilename();
         String extension = getFileExtension(originalFilename);
+        
+        if (contentAddressed) {
+            try (InputStream in = file.getInputStream()) {
+                String filename = storeContentAddressed(in, extension);
+                uploadedBytes.addAndGet(file.getSize());
+                imageDerivativeService.enqueue(filename);
+                return filename;
+            }
+        }
+        
+        // 고유한 파일명 생성
         String uniqueFilename = UUID.randomUUID().toString() + "." + extension;
         
         // 파일 저장
         Path filePath = uploadPath.resolve(uniqueFilename);
         Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        uploadedBytes.addAndGet(file.getSize());
+        
+        // 썸네일/중간 크기 파생본은 백그라운드에서 생성
+        imageDerivativeService.enqueue(uniqueFilename);
         
         return uniqueFilename;
     }
     
     /**
-     * 파일 삭제
+     * 내용 주소 방식으로 저장
+     *
+     * 임시 파일로 복사하면서 SHA-256을 함께 계산(한 번만 읽음)하고,
+     * 같은 해시의 파일이 이미 있으면 임시 파일만 지운다.
+     *
+     * @return 저장된 파일명 ({sha256}.{확장자})
+     */
+    public String storeContentAddressed(InputStream in, String extension) throws IOException {
+        Path root = Paths.get(uploadDir);
+        Files.createDirectories(root);
+        
+        // 같은 파일시스템에서 원자적으로 이동할 수 있도록 업로드 디렉토리 안에 임시 파일 생성
+        Path temp = Files.createTempFile(root, ".upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                digestIn.transferTo(out);
+            }
+            
+            String filename = HexFormat.of().formatHex(digest.digest()) + "." + extension.toLowerCase(Locale.ROOT);
+            Path target = resolveStoragePath(root, filename);
+            if (Files.exists(target)) {
+                // 고아 이미지 정리가 방금 다시 올린 파일을 지우지 않도록 수정 시각 갱신
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+                deduplicatedCount.incrementAndGet();
+                return filename;
+            }
+            
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            storedCount.incrementAndGet();
+            return filename;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    /**
+     * 파일명에 해당하는 실제 저장 경로
+     * 내용 주소 파일은 해시 앞 네 글자로 두 단계 디렉토리에 분산 (예: ab/cd/abcd...jpg)
+     */
+    public static Path resolveStoragePath(Path root, String filename) {
+        if (isContentAddressed(filename)) {
+            return root.resolve(filename.substring(0, 2)).resolve(filename.substring(2, 4)).resolve(filename);
+        }
+        return root.resolve(filename);
+    }
+    
+    public static boolean isContentAddressed(String filename) {
+        return filename != null && CONTENT_ADDRESSED_NAME.matcher(filename).matches();
+    }
+    
+    /**
+     * 업로드 디렉토리 바로 아래 파일명인지 확인 (경로 구분자, ., .. 등 디렉토리 밖을 가리킬 수 있는 값 거부)
+     */
+    public static boolean isStoredFilename(String filename) {
+        if (filename == null || filename.isBlank() || filename.equals(".") || filename.equals("..")) {
+            return false;
+        }
+        return filename.indexOf('/') < 0 && filename.indexOf('\\') < 0 && filename.indexOf('\0') < 0;
+    }
+    
+    /**
+     * 파일 삭제 (다른 일기가 참조 중이면 삭제하지 않음)
      */
     public boolean deleteFile(String filename) {
+        if (!isStoredFilename(filename) || diaryRepository.countByImagePath(filename) > 0) {
+            return false;
+        }
+        
         try {
-            Path filePath = Paths.get(uploadDir).resolve(filename);
+            Path filePath = getFilePath(filename);
+            imageDerivativeService.deleteDerivatives(filename);
             return Files.deleteIfExists(filePath);
         } catch (IOException e) {
             return false;
@@ -91,6 +207,75 @@ public class FileService {
      * 파일 경로 반환
      */
     public Path getFilePath(String filename) {
-        return Paths.get(uploadDir).resolve(filename);
+        return resolveStoragePath(Paths.get(uploadDir), filename);
+    }
+    
+    /**
+     * 요청 크기의 파일 경로 반환 (파생본이 아직 없으면 생성을 요청하고 원본 경로 반환)
+     */
+    public Path getFilePath(String filename, ImageDerivativeService.Variant variant) {
+        if (variant == null) {
+            return getFilePath(filename);
+        }
+        
+        Path derivative = imageDerivativeService.findDerivative(filename, variant);
+        if (derivative != null) {
+            derivativeHits.incrementAndGet();
+            return derivative;
+        }
+        
+        derivativeFallbacks.incrementAndGet();
+        if (Files.isRegularFile(getFilePath(filename))) {
+            imageDerivativeService.enqueue(filename);
+        }
+        return getFilePath(filename);
+    }
+    
+    /**
+     * 파일 본문 전송 기록 (304 응답은 제외)
+     */
+    public void recordServed(long bytes) {
+        servedCount.incrementAndGet();
+        servedBytes.addAndGet(bytes);
+    }
+    
+    public boolean isContentAddressed() {
+        return contentAddressed;
+    }
+    
+    public long getStoredCount() {
+        return storedCount.get();
+    }
+    
+    public long getDeduplicatedCount() {
+        return deduplicatedCount.get();
+    }
+    
+    public long getUploadedBytes() {
+        return uploadedBytes.get();
+    }
+    
+    public long getServedCount() {
+        return servedCount.get();
+    }
+    
+    public long getServedBytes() {
+        return servedBytes.get();
+    }
+    
+    public long getDerivativeHitCount() {
+        return derivativeHits.get();
+    }
+    
+    public long getDerivativeFallbackCount() {
+        return derivativeFallbacks.get();
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,325 @@
+package com.diary.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업로드 이미지 파생본(썸네일/중간 크기) 생성 파이프라인
+ *
+ * 업로드 요청 스레드는 작업을 큐에 넣기만 하고, 크기 변환은 스레드 수와 큐 길이가 제한된
+ * 전용 실행기에서 처리한다. 큐가 가득 차면 작업을 버리고 원본을 계속 제공한다.
+ * 디코딩 전에 헤더의 가로/세로만 읽어 max-pixels를 넘으면 건너뛰며 읽고(subsampling),
+ * max-source-pixels를 넘거나 읽지 못한 파일은 기억해 두고 다시 큐에 넣지 않는다.
+ */
+@Service
+public class ImageDerivativeService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativeService.class);
+    
+    public static final String DERIVATIVE_DIR = "derivatives";
+    
+    /**
+     * 파생본 크기
+     */
+    public enum Variant {
+        THUMB("thumb"),
+        MEDIUM("medium");
+        
+        private final String directory;
+        
+        Variant(String directory) {
+            this.directory = directory;
+        }
+        
+        public String getDirectory() {
+            return directory;
+        }
+        
+        /**
+         * 요청 파라미터 해석 (original 또는 알 수 없는 값이면 null)
+         */
+        public static Variant from(String size) {
+            if (size == null) {
+                return null;
+            }
+            for (Variant variant : values()) {
+                if (variant.directory.equalsIgnoreCase(size)) {
+                    return variant;
+                }
+            }
+            return null;
+        }
+    }
+    
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+    
+    @Value("${image.derivative.threads:2}")
+    private int threads;
+    
+    @Value("${image.derivative.queue-capacity:100}")
+    private int queueCapacity;
+    
+    @Value("${image.derivative.thumb-size:400}")
+    private int thumbSize;
+    
+    @Value("${image.derivative.medium-size:1024}")
+    private int mediumSize;
+    
+    @Value("${image.derivative.max-pixels:16000000}")
+    private long maxPixels;
+    
+    @Value("${image.derivative.max-source-pixels:400000000}")
+    private long maxSourcePixels;
+    
+    @Value("${image.derivative.failed-cache-size:1000}")
+    private int failedCacheSize;
+    
+    private ThreadPoolExecutor executor;
+    
+    // 같은 파일이 중복으로 큐에 들어가지 않도록 처리 중인 파일명 보관
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    
+    // 생성에 실패한 파일명 (요청마다 다시 디코딩하지 않도록, 오래된 것부터 제거)
+    private final LinkedHashMap<String, Boolean> failedFiles = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    
+    @PostConstruct
+    public void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * 파생본 생성 작업 등록 (GIF는 애니메이션 보존을 위해 원본 사용)
+     */
+    public void enqueue(String filename) {
+        if (!supports(filename) || hasFailed(filename) || !inFlight.add(filename)) {
+            return;
+        }
+        
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(filename);
+                    completed.incrementAndGet();
+                } catch (Exception | OutOfMemoryError e) {
+                    // 크기 제한을 둬도 손상된 파일 등으로 디코더가 메모리를 넘길 수 있으므로 작업만 실패 처리
+                    failed.incrementAndGet();
+                    markFailed(filename);
+                    log.warn("이미지 파생본 생성 실패: {} ({})", filename, e.getMessage());
+                } finally {
+                    inFlight.remove(filename);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(filename);
+            rejected.incrementAndGet();
+        }
+    }
+    
+    /**
+     * 파생본 경로 (준비되지 않았으면 null)
+     */
+    public Path findDerivative(String filename, Variant variant) {
+        if (variant == null || !supports(filename)) {
+            return null;
+        }
+        Path path = derivativePath(filename, variant);
+        return Files.isRegularFile(path) ? path : null;
+    }
+    
+    /**
+     * 파생본 삭제
+     */
+    public void deleteDerivatives(String filename) {
+        synchronized (failedFiles) {
+            failedFiles.remove(filename);
+        }
+        for (Variant variant : Variant.values()) {
+            try {
+                Files.deleteIfExists(derivativePath(filename, variant));
+            } catch (IOException e) {
+                log.warn("이미지 파생본 삭제 실패: {} ({})", filename, e.getMessage());
+            }
+        }
+    }
+    
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+    
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+    
+    public long getCompletedCount() {
+        return completed.get();
+    }
+    
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+    
+    public long getFailedCount() {
+        return failed.get();
+    }
+    
+    private boolean hasFailed(String filename) {
+        synchronized (failedFiles) {
+            return failedFiles.get(filename) != null;
+        }
+    }
+    
+    private void markFailed(String filename) {
+        synchronized (failedFiles) {
+            failedFiles.put(filename, Boolean.TRUE);
+            Iterator<String> iterator = failedFiles.keySet().iterator();
+            while (failedFiles.size() > failedCacheSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+    
+    private void generate(String filename) throws IOException {
+        Path original = FileService.resolveStoragePath(Paths.get(uploadDir), filename);
+        BufferedImage source = read(original);
+        
+        String format = formatOf(filename);
+        for (Variant variant : Variant.values()) {
+            int maxSize = variant == Variant.THUMB ? thumbSize : mediumSize;
+            BufferedImage resized = resize(source, maxSize, "jpg".equals(format));
+            
+            // 임시 파일에 쓴 뒤 이동하여 반쯤 쓰인 파생본이 제공되지 않게 함
+            Path target = derivativePath(filename, variant);
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), "tmp-", "." + format);
+            try {
+                ImageIO.write(resized, format, temp.toFile());
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+    
+    /**
+     * 헤더의 가로/세로를 먼저 확인한 뒤 디코딩 (max-pixels를 넘으면 일정 간격으로 건너뛰며 읽음)
+     */
+    private BufferedImage read(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("이미지를 읽을 수 없습니다.");
+            }
+            
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long width = reader.getWidth(0);
+                long height = reader.getHeight(0);
+                long pixels = width * height;
+                if (pixels > maxSourcePixels) {
+                    throw new IOException("이미지가 너무 큽니다 (" + width + "x" + height + ")");
+                }
+                
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (pixels > maxPixels) {
+                    int step = (int) Math.ceil(Math.sqrt((double) pixels / maxPixels));
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                
+                BufferedImage image = reader.read(0, param);
+                if (image == null) {
+                    throw new IOException("이미지를 읽을 수 없습니다.");
+                }
+                return image;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+    
+    private BufferedImage resize(BufferedImage source, int maxSize, boolean opaque) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        
+        // JPEG는 알파 채널을 지원하지 않으므로 RGB로 변환
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+    
+    private Path derivativePath(String filename, Variant variant) {
+        return Paths.get(uploadDir).resolve(DERIVATIVE_DIR).resolve(variant.getDirectory()).resolve(filename);
+    }
+    
+    private boolean supports(String filename) {
+        String format = formatOf(filename);
+        return "jpg".equals(format) || "png".equals(format);
+    }
+    
+    private String formatOf(String filename) {
+        int dot = filename.lastIndexOf('.');
+        String extension = dot < 0 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return "jpeg".equals(extension) ? "jpg" : extension;
+    }
+}
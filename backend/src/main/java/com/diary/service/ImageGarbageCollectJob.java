@@ -0,0 +1,258 @@
+package com.diary.service;
+
+import com.diary.repository.DiaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 고아 이미지 정리 작업
+ *
+ * 업로드 디렉토리를 스트리밍으로 순회하며 일정 개수씩 diaries.image_path 참조 여부를 확인하고,
+ * 유예 기간이 지났는데 어떤 일기도 참조하지 않는 파일(저장되지 않은 업로드, 삭제/수정된 일기의 이미지)을 지운다.
+ * 한 번에 지우는 개수와 초당 삭제 수를 제한하여 남은 파일은 다음 실행에서 이어서 정리한다.
+ */
+@Component
+public class ImageGarbageCollectJob {
+    
+    private static final Logger log = LoggerFactory.getLogger(ImageGarbageCollectJob.class);
+    
+    // 업로드 임시 파일 접두사 (FileService.storeContentAddressed)
+    private static final String TEMP_PREFIX = ".upload-";
+    
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+    
+    @Value("${image-gc.grace-period:PT24H}")
+    private Duration gracePeriod;
+    
+    @Value("${image-gc.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${image-gc.max-deletes-per-run:5000}")
+    private int maxDeletesPerRun;
+    
+    @Value("${image-gc.deletes-per-second:100}")
+    private int deletesPerSecond;
+    
+    @Autowired
+    private DiaryRepository diaryRepository;
+    
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    private volatile long lastScannedFiles;
+    private volatile long lastDeletedFiles;
+    private volatile long lastReclaimedBytes;
+    private volatile long lastElapsedMillis;
+    private final AtomicLong totalDeletedFiles = new AtomicLong();
+    private final AtomicLong totalReclaimedBytes = new AtomicLong();
+    
+    /**
+     * 정기 실행 (image-gc.cron, "-"이면 비활성화)
+     */
+    @Scheduled(cron = "${image-gc.cron:0 30 3 * * *}")
+    public void run() {
+        // 이전 실행이 아직 끝나지 않았으면 건너뜀
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        
+        try {
+            collect();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("고아 이미지 정리 실패: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    private void collect() throws IOException {
+        Path root = Paths.get(uploadDir);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        
+        long start = System.currentTimeMillis();
+        long cutoff = start - gracePeriod.toMillis();
+        Path derivatives = root.resolve(ImageDerivativeService.DERIVATIVE_DIR);
+        Run run = new Run();
+        
+        // 원본은 최상위(UUID 파일명) 또는 ab/cd/ 아래(내용 주소 파일명)에만 있으므로 깊이 3까지만 순회
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            Iterator<Path> iterator = files.filter(path -> !path.startsWith(derivatives)).iterator();
+            Map<String, Candidate> batch = new LinkedHashMap<>();
+            
+            while (iterator.hasNext() && run.deleted < maxDeletesPerRun) {
+                Path path = iterator.next();
+                BasicFileAttributes attributes = readAttributes(path);
+                if (attributes == null || !attributes.isRegularFile()) {
+                    continue;
+                }
+                
+                run.scanned++;
+                if (attributes.lastModifiedTime().toMillis() > cutoff) {
+                    continue;
+                }
+                
+                String filename = path.getFileName().toString();
+                if (filename.startsWith(TEMP_PREFIX)) {
+                    // 중단된 업로드의 임시 파일은 참조 확인 없이 정리
+                    delete(run, path, null, attributes.size());
+                    continue;
+                }
+                
+                batch.put(filename, new Candidate(path, attributes.size()));
+                if (batch.size() >= batchSize) {
+                    sweep(run, batch);
+                }
+            }
+            
+            if (!batch.isEmpty() && run.deleted < maxDeletesPerRun) {
+                sweep(run, batch);
+            }
+        }
+        
+        lastScannedFiles = run.scanned;
+        lastDeletedFiles = run.deleted;
+        lastReclaimedBytes = run.reclaimed;
+        lastElapsedMillis = System.currentTimeMillis() - start;
+        totalDeletedFiles.addAndGet(run.deleted);
+        totalReclaimedBytes.addAndGet(run.reclaimed);
+        
+        log.info("고아 이미지 정리 완료: 검사 {}개, 삭제 {}개, {}바이트 회수, {}ms",
+                run.scanned, run.deleted, run.reclaimed, lastElapsedMillis);
+    }
+    
+    // 배치 단위로 참조 여부를 한 번에 조회하고 참조되지 않은 파일만 삭제
+    private void sweep(Run run, Map<String, Candidate> batch) {
+        Set<String> referenced = new HashSet<>(diaryRepository.findReferencedImagePaths(new ArrayList<>(batch.keySet())));
+        
+        for (Map.Entry<String, Candidate> entry : batch.entrySet()) {
+            if (run.deleted >= maxDeletesPerRun) {
+                break;
+            }
+            if (!referenced.contains(entry.getKey())) {
+                delete(run, entry.getValue().path, entry.getKey(), entry.getValue().size);
+            }
+        }
+        batch.clear();
+    }
+    
+    private void delete(Run run, Path path, String filename, long size) {
+        throttle(run);
+        try {
+            // 순회 후 배치/대기 동안 같은 내용이 다시 업로드되면 수정 시간이 갱신되므로 삭제 직전에 다시 확인
+            if (Files.getLastModifiedTime(path).toMillis() > System.currentTimeMillis() - gracePeriod.toMillis()) {
+                return;
+            }
+            if (Files.deleteIfExists(path)) {
+                run.deleted++;
+                run.reclaimed += size;
+            }
+            if (filename != null) {
+                imageDerivativeService.deleteDerivatives(filename);
+            }
+        } catch (NoSuchFileException e) {
+            // 그 사이 이미 삭제된 파일
+        } catch (IOException e) {
+            log.warn("고아 이미지 삭제 실패: {} ({})", path, e.getMessage());
+        }
+    }
+    
+    // 초당 삭제 수 제한 (디스크/백업 I/O를 독점하지 않도록)
+    private void throttle(Run run) {
+        if (deletesPerSecond <= 0) {
+            return;
+        }
+        
+        long now = System.nanoTime();
+        long next = run.nextDeleteAt;
+        if (next > now) {
+            try {
+                Thread.sleep((next - now) / 1_000_000, (int) ((next - now) % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            now = next;
+        }
+        run.nextDeleteAt = now + 1_000_000_000L / deletesPerSecond;
+    }
+    
+    private BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // 순회 중 삭제된 파일
+            return null;
+        }
+    }
+    
+    public long getLastScannedFiles() {
+        return lastScannedFiles;
+    }
+    
+    public long getLastDeletedFiles() {
+        return lastDeletedFiles;
+    }
+    
+    public long getLastReclaimedBytes() {
+        return lastReclaimedBytes;
+    }
+    
+    public long getLastElapsedMillis() {
+        return lastElapsedMillis;
+    }
+    
+    public long getTotalDeletedFiles() {
+        return totalDeletedFiles.get();
+    }
+    
+    public long getTotalReclaimedBytes() {
+        return totalReclaimedBytes.get();
+    }
+    
+    /**
+     * 한 번의 실행 동안의 집계
+     */
+    private static class Run {
+        long scanned;
+        long deleted;
+        long reclaimed;
+        long nextDeleteAt;
+    }
+    
+    private static class Candidate {
+        final Path path;
+        final long size;
+        
+        Candidate(Path path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.diary.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자 마지막 접근 시간 write-behind 버퍼
+ *
+ * 요청마다 UPDATE를 보내는 대신 임시 ID별 가장 최근 접근 시간만 메모리에 보관하고,
+ * 주기적으로 UPDATE ... FROM (VALUES ...) 한 번으로 일괄 반영한다.
+ * 일괄 반영은 항상 별도 트랜잭션(REQUIRES_NEW)에서 실행하여 호출한 요청의 트랜잭션과 섞이지 않게 한다.
+ */
+@Component
+public class LastAccessWriteBehind {
+    
+    private static final Logger log = LoggerFactory.getLogger(LastAccessWriteBehind.class);
+    
+    private static final String UPDATE_PREFIX =
+            "UPDATE users u SET last_accessed_at = v.accessed_at FROM (VALUES ";
+    private static final String UPDATE_SUFFIX =
+            ") AS v(temp_id, accessed_at) " +
+            "WHERE u.temp_id = v.temp_id " +
+            "AND (u.last_accessed_at IS NULL OR u.last_accessed_at < v.accessed_at)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${user-access.max-buffer-size:10000}")
+    private int maxBufferSize;
+    
+    @Value("${user-access.batch-size:500}")
+    private int batchSize;
+    
+    private final ConcurrentHashMap<String, LocalDateTime> buffer = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    
+    /**
+     * 접근 시간 기록 (같은 임시 ID는 최신 값 하나로 합쳐짐)
+     */
+    public void record(String tempId, LocalDateTime accessTime) {
+        recorded.incrementAndGet();
+        
+        buffer.merge(tempId, accessTime, (previous, current) -> {
+            coalesced.incrementAndGet();
+            return previous.isAfter(current) ? previous : current;
+        });
+        
+        // 버퍼가 가득 차면 호출 스레드에서 비워 메모리 사용량을 제한
+        // (이미 다른 스레드가 비우는 중이면 기다리지 않고 그 flush에 맡김)
+        if (buffer.size() >= maxBufferSize && flushLock.tryLock()) {
+            try {
+                flushBuffer();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * 주기적 flush
+     */
+    @Scheduled(fixedDelayString = "${user-access.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+    
+    /**
+     * 종료 시 남은 접근 시간 반영
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    /**
+     * 버퍼에 쌓인 접근 시간을 일괄 UPDATE
+     */
+    public int flush() {
+        if (buffer.isEmpty()) {
+            return 0;
+        }
+        
+        flushLock.lock();
+        try {
+            return flushBuffer();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    // flushLock을 잡은 상태에서 호출
+    private int flushBuffer() {
+        List<Object[]> pending = drain();
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        
+        // 요청 트랜잭션 안에서 호출되어도 그 트랜잭션을 중단시키거나 롤백에 휩쓸리지 않도록 분리
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        long start = System.nanoTime();
+        try {
+            transaction.executeWithoutResult(status -> {
+                for (int from = 0; from < pending.size(); from += batchSize) {
+                    List<Object[]> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+                    jdbcTemplate.update(buildUpdateSql(chunk.size()), flatten(chunk));
+                }
+            });
+        } catch (RuntimeException e) {
+            failedFlushes.incrementAndGet();
+            requeue(pending);
+            log.warn("마지막 접근 시간 일괄 반영 실패 ({}건): {}", pending.size(), e.getMessage());
+            return 0;
+        }
+        
+        long elapsed = System.nanoTime() - start;
+        lastFlushNanos.set(elapsed);
+        totalFlushNanos.addAndGet(elapsed);
+        flushCount.incrementAndGet();
+        flushedRows.addAndGet(pending.size());
+        return pending.size();
+    }
+    
+    private List<Object[]> drain() {
+        List<Object[]> pending = new ArrayList<>(buffer.size());
+        for (String tempId : buffer.keySet()) {
+            LocalDateTime accessTime = buffer.remove(tempId);
+            if (accessTime != null) {
+                pending.add(new Object[]{tempId, Timestamp.valueOf(accessTime)});
+            }
+        }
+        return pending;
+    }
+    
+    // 실패 시 버퍼로 되돌림 (그 사이 들어온 더 최신 값은 유지)
+    private void requeue(List<Object[]> pending) {
+        for (Object[] row : pending) {
+            LocalDateTime accessTime = ((Timestamp) row[1]).toLocalDateTime();
+            buffer.merge((String) row[0], accessTime, (a, b) -> a.isAfter(b) ? a : b);
+        }
+    }
+    
+    private String buildUpdateSql(int rows) {
+        StringBuilder sql = new StringBuilder(UPDATE_PREFIX.length() + UPDATE_SUFFIX.length() + rows * 32);
+        sql.append(UPDATE_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(? AS VARCHAR), CAST(? AS TIMESTAMP))");
+        }
+        sql.append(UPDATE_SUFFIX);
+        return sql.toString();
+    }
+    
+    private Object[] flatten(List<Object[]> rows) {
+        Object[] args = new Object[rows.size() * 2];
+        int i = 0;
+        for (Object[] row : rows) {
+            args[i++] = row[0];
+            args[i++] = row[1];
+        }
+        return args;
+    }
+    
+    public int getBufferSize() {
+        return buffer.size();
+    }
+    
+    public long getRecordedCount() {
+        return recorded.get();
+    }
+    
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+    
+    public long getFlushedRowCount() {
+        return flushedRows.get();
+    }
+    
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+    
+    public long getFailedFlushCount() {
+        return failedFlushes.get();
+    }
+    
+    public long getLastFlushNanos() {
+        return lastFlushNanos.get();
+    }
+    
+    public long getTotalFlushNanos() {
+        return totalFlushNanos.get();
+    }
+}
@@ -1,15 +1,22 @@
 package com.diary.service;
 
+import com.diary.analysis.WordCounter;
+import com.diary.dto.CalendarDTO;
 import com.diary.dto.StatisticsDTO;
 import com.diary.entity.User;
 import com.diary.repository.DiaryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
 import java.util.*;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
@@ -18,33 +25,99 @@ public class StatisticsService {
     @Autowired
     private DiaryRepository diaryRepository;
     
+    @Autowired
+    private WordIndexService wordIndexService;
+    
+    @Autowired
+    private WordAnalyzer wordAnalyzer;
+    
+    @Autowired
+    private DiaryCounterService diaryCounterService;
+    
+    @Autowired
+    private StreamingWordAnalyzer streamingWordAnalyzer;
+    
+    @Value("${statistics.word-index:false}")
+    private boolean useWordIndex;
+    
+    @Value("${statistics.monthly-counters:false}")
+    private boolean useMonthlyCounters;
+    
+    @Value("${statistics.streaming-analysis.enabled:false}")
+    private boolean useStreamingAnalysis;
+    
     /**
      * 사용자 통계 조회
      */
     public StatisticsDTO getUserStatistics(User user) {
+        return getUserStatistics(user, () -> false);
+    }
+    
+    /**
+     * 사용자 통계 조회 (단어 분석 중 cancelled가 true가 되면 CancellationException)
+     */
+    public StatisticsDTO getUserStatistics(User user, BooleanSupplier cancelled) {
         // 월별 통계
         List<StatisticsDTO.MonthlyStatistic> monthlyStats = getMonthlyStatistics(user);
         
         // 자주 쓰는 단어 통계
-        List<StatisticsDTO.WordFrequency> wordFrequencies = getWordFrequencies(user);
+        List<StatisticsDTO.WordFrequency> wordFrequencies = getWordFrequencies(user, cancelled);
         
         // 총 일기 수
-        long totalDiaries = diaryRepository.countByUser(user);
+        long totalDiaries = useMonthlyCounters
+                ? diaryCounterService.getTotalCount(user)
+                : diaryRepository.countByUser(user);
         
         return new StatisticsDTO(monthlyStats, wordFrequencies, totalDiaries);
     }
     
+    /**
+     * 연간 달력 히트맵 (날짜별 집계 한 번으로 일기 쓴 날 비트맵과 일기 수 생성)
+     */
+    public CalendarDTO getCalendar(User user, int year) {
+        Year calendarYear = Year.of(year);
+        int days = calendarYear.length();
+        List<Object[]> results = diaryRepository.countByDayBetween(
+                user, calendarYear.atDay(1), calendarYear.atDay(days));
+        
+        byte[] bitmap = new byte[(days + 7) / 8];
+        int[] counts = new int[results.size()];
+        long total = 0;
+        // 날짜순으로 받으므로 counts도 비트 순서와 같음
+        for (int i = 0; i < results.size(); i++) {
+            int day = ((LocalDate) results.get(i)[0]).getDayOfYear() - 1;
+            bitmap[day >> 3] |= (byte) (1 << (day & 7));
+            counts[i] = ((Number) results.get(i)[1]).intValue();
+            total += counts[i];
+        }
+        return new CalendarDTO(year, days, Base64.getEncoder().encodeToString(bitmap), counts, total);
+    }
+    
+    /**
+     * 단어 분석을 본문 전체 스캔으로 하는지 여부 (오래 걸릴 수 있어 컨트롤러가 비동기로 처리)
+     * 설정값만 읽으므로 트랜잭션을 열지 않음
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean isStreamingAnalysis() {
+        return !useWordIndex && useStreamingAnalysis;
+    }
+    
     /**
      * 월별 일기 작성 통계
      */
     private List<StatisticsDTO.MonthlyStatistic> getMonthlyStatistics(User user) {
+        // 카운터 사용 시 월 개수만큼의 행만 조회
+        if (useMonthlyCounters) {
+            return diaryCounterService.getMonthlyStatistics(user);
+        }
+        
         List<Object[]> results = diaryRepository.getMonthlyStatistics(user);
         
         return results.stream()
                 .map(result -> {
-                    // PostgreSQL에서 EXTRACT 결과는 BigDecimal로 반환됨
-                    int year = ((BigDecimal) result[0]).intValue();
-                    int month = ((BigDecimal) result[1]).intValue();
+                    // EXTRACT 결과 타입은 Hibernate 버전에 따라 다름 (6.x: Integer, 5.x: BigDecimal)
+                    int year = ((Number) result[0]).intValue();
+                    int month = ((Number) result[1]).intValue();
                     long count = ((Number) result[2]).longValue();
                     
                     return new StatisticsDTO.MonthlyStatistic(year, month, count);
@@ -55,40 +128,22 @@ public class StatisticsService {
     /**
      * 자주 쓰는 단어 분석
      */
-    private List<StatisticsDTO.WordFrequency> getWordFrequencies(User user) {
-        List<String> contents = diaryRepository.findAllContentByUser(user);
-        
-        // 모든 내용을 합치고 단어 분석
-        String allContent = String.join(" ", contents);
+    private List<StatisticsDTO.WordFrequency> getWordFrequencies(User user, BooleanSupplier cancelled) {
+        // 단어 색인 사용 시 인덱스 조회만으로 상위 20개 반환
+        if (useWordIndex) {
+            return wordIndexService.getTopWords(user);
+        }
         
-        // 간단한 단어 분석 (실제로는 더 정교한 형태소 분석이 필요)
-        Map<String, Long> wordCount = Arrays.stream(allContent.split("\\s+"))
-                .filter(word -> word.length() > 1) // 1글자 단어 제외
-                .filter(word -> !isStopWord(word)) // 불용어 제외
-                .collect(Collectors.groupingBy(
-                        String::toLowerCase,
-                        Collectors.counting()
-                ));
+        // 본문을 청크 단위로 읽으면서 병렬 집계 (전체 본문을 메모리에 올리지 않음)
+        if (useStreamingAnalysis) {
+            try (Stream<String> contents = diaryRepository.streamContentByUser(user)) {
+                WordCounter counter = streamingWordAnalyzer.count(contents, cancelled);
+                return wordAnalyzer.topWords(counter, 20);
+            }
+        }
         
-        // 빈도순으로 정렬하여 상위 20개 반환
-        return wordCount.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(20)
-                .map(entry -> new StatisticsDTO.WordFrequency(entry.getKey(), entry.getValue()))
-                .collect(Collectors.toList());
-    }
-    
-    /**
-     * 불용어 체크 (간단한 버전)
-     */
-    private boolean isStopWord(String word) {
-        Set<String> stopWords = Set.of(
-                "이", "그", "저", "것", "들", "는", "은", "을", "를", "에", "의", "가", "와", "과",
-                "도", "만", "까지", "부터", "로", "으로", "에서", "에게", "한테", "하고", "그리고",
-                "또", "또한", "그런데", "하지만", "그러나", "그래서", "따라서", "즉", "예를", "들어",
-                "the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for", "of", "with", "by"
-        );
+        List<String> contents = diaryRepository.findAllContentByUser(user);
         
-        return stopWords.contains(word.toLowerCase()) || word.matches("\\d+") || word.matches("[^\\w가-힣]");
+        return wordAnalyzer.topWords(contents, 20);
     }
 }
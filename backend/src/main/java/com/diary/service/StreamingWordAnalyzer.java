@@ -0,0 +1,159 @@
+package com.diary.service;
+
+import com.diary.analysis.WordCounter;
+import com.diary.analysis.WordTokenizer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * 대용량 일기 기록의 병렬 스트리밍 단어 집계
+ *
+ * 전체 본문을 하나의 문자열로 합치지 않고, 조회 스트림에서 chunk-size개씩 잘라 전용 fork-join 풀에서
+ * 나눠 집계한 뒤 부분 결과를 합친다. 동시에 처리 중인 청크 수를 풀 크기 + 1로 제한하므로
+ * 메모리 사용량은 전체 기록 크기가 아니라 청크 크기에 비례한다.
+ * 취소 신호(클라이언트 연결 끊김 등)는 청크를 읽을 때와 각 분할 작업 시작 시 확인한다.
+ */
+@Component
+public class StreamingWordAnalyzer {
+    
+    // 이 개수 이하의 본문은 더 나누지 않고 한 작업에서 집계
+    private static final int LEAF_SIZE = 16;
+    
+    @Value("${statistics.streaming-analysis.chunk-size:200}")
+    private int chunkSize;
+    
+    @Value("${statistics.streaming-analysis.parallelism:0}")
+    private int parallelism;
+    
+    private ForkJoinPool pool;
+    
+    @PostConstruct
+    public void start() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("word-analysis-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+    
+    /**
+     * 본문 스트림의 단어 집계
+     *
+     * @throws CancellationException cancelled가 true가 된 경우
+     */
+    public WordCounter count(Stream<String> contents, BooleanSupplier cancelled) {
+        WordCounter total = new WordCounter(1024);
+        Deque<ForkJoinTask<WordCounter>> inFlight = new ArrayDeque<>();
+        int maxInFlight = pool.getParallelism() + 1;
+        List<String> chunk = new ArrayList<>(chunkSize);
+        
+        try {
+            Iterator<String> iterator = contents.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() < chunkSize) {
+                    continue;
+                }
+                
+                checkCancelled(cancelled);
+                inFlight.add(pool.submit(new CountTask(chunk, 0, chunk.size(), cancelled)));
+                chunk = new ArrayList<>(chunkSize);
+                
+                // 처리 중인 청크가 많으면 가장 오래된 것부터 합쳐 읽기 속도를 집계 속도에 맞춤
+                if (inFlight.size() >= maxInFlight) {
+                    total.addAll(inFlight.poll().join());
+                }
+            }
+            
+            if (!chunk.isEmpty()) {
+                checkCancelled(cancelled);
+                inFlight.add(pool.submit(new CountTask(chunk, 0, chunk.size(), cancelled)));
+            }
+            while (!inFlight.isEmpty()) {
+                total.addAll(inFlight.poll().join());
+            }
+            return total;
+        } catch (RuntimeException e) {
+            inFlight.forEach(task -> task.cancel(true));
+            throw e;
+        }
+    }
+    
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+    
+    public int getActiveThreadCount() {
+        return pool.getActiveThreadCount();
+    }
+    
+    private static void checkCancelled(BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("단어 분석이 취소되었습니다.");
+        }
+    }
+    
+    /**
+     * 본문 목록 구간을 반으로 나눠 집계하고 큰 쪽에 작은 쪽을 합침
+     */
+    private static class CountTask extends RecursiveTask<WordCounter> {
+        private final List<String> contents;
+        private final int from;
+        private final int to;
+        private final BooleanSupplier cancelled;
+        
+        CountTask(List<String> contents, int from, int to, BooleanSupplier cancelled) {
+            this.contents = contents;
+            this.from = from;
+            this.to = to;
+            this.cancelled = cancelled;
+        }
+        
+        @Override
+        protected WordCounter compute() {
+            checkCancelled(cancelled);
+            
+            if (to - from <= LEAF_SIZE) {
+                WordCounter counter = new WordCounter(256);
+                for (int i = from; i < to; i++) {
+                    WordTokenizer.tokenize(contents.get(i), counter);
+                }
+                return counter;
+            }
+            
+            int middle = (from + to) >>> 1;
+            CountTask left = new CountTask(contents, from, middle, cancelled);
+            left.fork();
+            WordCounter right = new CountTask(contents, middle, to, cancelled).compute();
+            WordCounter leftResult = left.join();
+            
+            if (leftResult.size() >= right.size()) {
+                leftResult.addAll(right);
+                return leftResult;
+            }
+            right.addAll(leftResult);
+            return right;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.diary.service;
 
+import com.diary.cache.UserCache;
 import com.diary.entity.User;
 import com.diary.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,15 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private LastAccessWriteBehind lastAccessWriteBehind;
+    
+    @Value("${user-access.write-behind:true}")
+    private boolean writeBehindEnabled;
+    
     /**
      * 새로운 임시 사용자 생성
      */
@@ -28,6 +39,7 @@ public class UserService {
         
         User user = new User(tempId);
         userRepository.save(user);
+        userCache.put(user);
         
         return tempId;
     }
@@ -45,13 +57,20 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public boolean validateTempId(String tempId) {
+        if (userCache.get(tempId).isPresent()) {
+            return true;
+        }
         return userRepository.existsByTempId(tempId);
     }
     
     /**
-     * 사용자 마지막 접근 시간 업데이트
+     * 사용자 마지막 접근 시간 업데이트 (write-behind 사용 시 버퍼에 기록 후 일괄 반영)
      */
     public void updateLastAccessedAt(String tempId) {
+        if (writeBehindEnabled) {
+            lastAccessWriteBehind.record(tempId, LocalDateTime.now());
+            return;
+        }
         userRepository.updateLastAccessedAt(tempId, LocalDateTime.now());
     }
     
@@ -65,8 +84,16 @@ public class UserService {
             return userRepository.findByTempId(newTempId).orElseThrow();
         }
         
+        // 캐시 적중 시 SELECT 없이 분리된 User 반환
+        Optional<User> cached = userCache.get(tempId);
+        if (cached.isPresent()) {
+            updateLastAccessedAt(tempId);
+            return cached.get();
+        }
+        
         Optional<User> user = findByTempId(tempId);
         if (user.isPresent()) {
+            userCache.put(user.get());
             updateLastAccessedAt(tempId);
             return user.get();
         } else {
@@ -0,0 +1,72 @@
+package com.diary.service;
+
+import com.diary.analysis.WordCounter;
+import com.diary.analysis.WordTokenizer;
+import com.diary.dto.StatisticsDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일기 본문 단어 분석기
+ *
+ * 통계 화면의 "자주 쓰는 단어" 규칙(공백 분리, 1글자·불용어 제외, 소문자 통일)을
+ * 단어 색인 갱신과 통계 계산이 함께 사용하도록 한 곳에 모아 둔다.
+ * 실제 분리/집계는 {@link WordTokenizer}와 {@link WordCounter}가 박싱 없이 처리한다.
+ */
+@Component
+public class WordAnalyzer {
+    
+    // 색인 키로 저장할 수 있는 최대 단어 길이 (단어 색인 갱신에만 적용, 본문 집계 통계는 제한 없음)
+    public static final int MAX_WORD_LENGTH = WordTokenizer.MAX_WORD_LENGTH;
+    
+    /**
+     * 텍스트의 단어별 등장 횟수 (단어 색인 갱신용, MAX_WORD_LENGTH자 초과 단어 제외)
+     */
+    public Map<String, Long> countWords(String text) {
+        if (text == null || text.isEmpty()) {
+            return new HashMap<>();
+        }
+        
+        WordCounter counter = new WordCounter();
+        WordTokenizer.tokenize(text, counter, MAX_WORD_LENGTH);
+        
+        Map<String, Long> counts = new HashMap<>((int) (counter.size() / 0.75f) + 1);
+        counter.forEach((word, count) -> counts.put(word, (long) count));
+        return counts;
+    }
+    
+    /**
+     * 여러 텍스트를 합친 단어 빈도 상위 limit개 (빈도 내림차순, 같으면 단어 오름차순)
+     */
+    public List<StatisticsDTO.WordFrequency> topWords(Collection<String> texts, int limit) {
+        WordCounter counter = new WordCounter(1024);
+        for (String text : texts) {
+            WordTokenizer.tokenize(text, counter);
+        }
+        return topWords(counter, limit);
+    }
+    
+    /**
+     * 집계 결과의 상위 limit개 (빈도 내림차순, 같으면 단어 오름차순)
+     */
+    public List<StatisticsDTO.WordFrequency> topWords(WordCounter counter, int limit) {
+        List<StatisticsDTO.WordFrequency> result = new ArrayList<>(Math.min(limit, counter.size()));
+        counter.top(limit, (word, count) -> result.add(new StatisticsDTO.WordFrequency(word, count)));
+        return result;
+    }
+    
+    /**
+     * 두 텍스트 간 단어 빈도 변화량 (변화가 없는 단어는 제외)
+     */
+    public Map<String, Long> diff(String oldText, String newText) {
+        Map<String, Long> deltas = countWords(newText);
+        countWords(oldText).forEach((word, count) -> deltas.merge(word, -count, Long::sum));
+        deltas.values().removeIf(delta -> delta == 0L);
+        return deltas;
+    }
+}
@@ -0,0 +1,52 @@
+package com.diary.service;
+
+import com.diary.entity.User;
+import com.diary.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단어 색인 재구축 명령
+ *
+ * 기존 데이터 백필용: --word-index.rebuild=true 옵션으로 실행하면
+ * 시작 시 모든 사용자의 색인을 사용자 단위 트랜잭션으로 다시 만든다.
+ */
+@Component
+@ConditionalOnProperty(name = "word-index.rebuild", havingValue = "true")
+public class WordIndexRebuildRunner implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(WordIndexRebuildRunner.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private WordIndexService wordIndexService;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        int rebuilt = 0;
+        int page = 0;
+        Page<User> users;
+        
+        do {
+            users = userRepository.findAll(PageRequest.of(page++, 100, Sort.by("id")));
+            for (User user : users) {
+                wordIndexService.rebuild(user);
+                rebuilt++;
+            }
+            log.info("단어 색인 재구축 진행: {}명", rebuilt);
+        } while (users.hasNext());
+        
+        log.info("단어 색인 재구축 완료: {}명, {}ms", rebuilt, System.currentTimeMillis() - start);
+    }
+}
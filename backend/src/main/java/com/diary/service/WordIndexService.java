@@ -0,0 +1,100 @@
+package com.diary.service;
+
+import com.diary.dto.StatisticsDTO;
+import com.diary.entity.User;
+import com.diary.repository.DiaryRepository;
+import com.diary.repository.UserWordCountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자별 단어 빈도 색인 관리
+ *
+ * 일기 본문이 바뀔 때마다 단어 빈도 변화량만 user_word_counts에 반영하여
+ * 통계 조회 시 전체 본문을 읽지 않고 인덱스 조회만으로 상위 단어를 구한다.
+ */
+@Service
+@Transactional
+public class WordIndexService {
+    
+    @Autowired
+    private UserWordCountRepository userWordCountRepository;
+    
+    @Autowired
+    private DiaryRepository diaryRepository;
+    
+    @Autowired
+    private WordAnalyzer wordAnalyzer;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * 일기 작성 시 단어 추가
+     */
+    public void onDiaryCreated(User user, String content) {
+        userWordCountRepository.applyDeltas(user.getId(), wordAnalyzer.countWords(content));
+    }
+    
+    /**
+     * 일괄 가져오기 시 여러 일기의 단어를 한 번에 추가
+     */
+    public void onDiariesCreated(User user, List<String> contents) {
+        Map<String, Long> counts = new HashMap<>();
+        for (String content : contents) {
+            wordAnalyzer.countWords(content).forEach((word, count) -> counts.merge(word, count, Long::sum));
+        }
+        userWordCountRepository.applyDeltas(user.getId(), counts);
+    }
+    
+    /**
+     * 일기 수정 시 변화량 반영
+     */
+    public void onDiaryUpdated(User user, String oldContent, String newContent) {
+        userWordCountRepository.applyDeltas(user.getId(), wordAnalyzer.diff(oldContent, newContent));
+    }
+    
+    /**
+     * 일기 삭제 시 단어 차감
+     */
+    public void onDiaryDeleted(User user, String content) {
+        Map<String, Long> deltas = new HashMap<>();
+        wordAnalyzer.countWords(content).forEach((word, count) -> deltas.put(word, -count));
+        userWordCountRepository.applyDeltas(user.getId(), deltas);
+    }
+    
+    /**
+     * 자주 쓰는 단어 상위 20개
+     */
+    @Transactional(readOnly = true)
+    public List<StatisticsDTO.WordFrequency> getTopWords(User user) {
+        return userWordCountRepository.findTop20ByUserIdOrderByFrequencyDescWordAsc(user.getId()).stream()
+                .map(count -> new StatisticsDTO.WordFrequency(count.getWord(), count.getFrequency()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 한 사용자의 단어 색인 재구축
+     */
+    public void rebuild(User user) {
+        Map<String, Long> counts = new HashMap<>();
+        for (String content : diaryRepository.findAllContentByUser(user)) {
+            wordAnalyzer.countWords(content).forEach((word, count) -> counts.merge(word, count, Long::sum));
+        }
+        
+        userWordCountRepository.deleteByUserId(user.getId());
+        userWordCountRepository.applyDeltas(user.getId(), counts);
+        dataVersionService.bump(user);
+        eventPublisher.publishEvent(new DiaryChangedEvent(user.getId(), DiaryChangedEvent.Type.REINDEXED));
+    }
+}
@@ -0,0 +1,188 @@
+package com.diary.config;
+
+import com.diary.entity.User;
+import com.diary.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 요청당 SQL 예산 통합 테스트 (query-budget.fail-on-exceed=true)
+ *
+ * 내장 PostgreSQL에 database/schema.sql을 적용하고 목록/검색/통계 엔드포인트를 호출한다.
+ * 실패 모드에서는 예산을 넘는 SQL이 실행되는 순간 예외가 나므로, N+1 같은 회귀는 200이 아닌 응답으로 드러난다.
+ */
+@SpringBootTest(properties = {
+        "query-budget.fail-on-exceed=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class QueryBudgetIntegrationTest {
+    
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+    
+    private static final String TEMP_ID = "query-budget-user";
+    private static final int DIARIES = 30;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private MeterRegistry registry;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> POSTGRES.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.password", () -> "");
+    }
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        if (userRepository.findByTempId(TEMP_ID).isPresent()) {
+            return;
+        }
+        // 없는 임시 ID로 요청하면 새 사용자가 만들어지므로 미리 생성
+        userRepository.save(new User(TEMP_ID));
+        
+        // 가져오기는 예산 제외 경로(query-budget.exclude-paths)
+        StringBuilder ndjson = new StringBuilder();
+        LocalDate date = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < DIARIES; i++) {
+            ndjson.append("{\"title\":\"산책 일기 ").append(i)
+                    .append("\",\"content\":\"오늘은 공원에서 산책을 했다 날씨가 좋았다 ").append(i)
+                    .append("\",\"diaryDate\":\"").append(date.plusDays(i * 7L)).append("\"}\n");
+        }
+        mockMvc.perform(post("/api/diaries/import")
+                        .header("X-Temp-Id", TEMP_ID)
+                        .contentType("application/x-ndjson")
+                        .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(DIARIES));
+    }
+    
+    @Test
+    void listDiariesStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/diaries").header("X-Temp-Id", TEMP_ID).param("page", "1").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10));
+        mockMvc.perform(get("/api/diaries").header("X-Temp-Id", TEMP_ID).param("cursor", "").param("size", "10"))
+                .andExpect(status().isOk());
+        
+        assertCountedWithinBudget("/api/diaries");
+    }
+    
+    @Test
+    void searchDiariesStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/diaries/search").header("X-Temp-Id", TEMP_ID).param("title", "산책"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(DIARIES));
+        mockMvc.perform(get("/api/diaries/search").header("X-Temp-Id", TEMP_ID).param("content", "공원"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/diaries/search").header("X-Temp-Id", TEMP_ID)
+                        .param("startDate", "2025-01-01").param("endDate", "2025-03-31"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/diaries/search").header("X-Temp-Id", TEMP_ID)
+                        .param("title", "산책").param("cursor", ""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/diaries/search").header("X-Temp-Id", TEMP_ID)
+                        .param("content", "산책을").param("mode", "fulltext"))
+                .andExpect(status().isOk());
+        
+        assertCountedWithinBudget("/api/diaries/search");
+    }
+    
+    @Test
+    void statisticsStaysWithinBudget() throws Exception {
+        MvcResult statistics = mockMvc.perform(get("/api/statistics").header("X-Temp-Id", TEMP_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(statistics))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalDiaries").value(DIARIES));
+        mockMvc.perform(get("/api/statistics/calendar").header("X-Temp-Id", TEMP_ID).param("year", "2025"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(DIARIES));
+        
+        assertCountedWithinBudget("/api/statistics");
+        assertCountedWithinBudget("/api/statistics/calendar");
+    }
+    
+    @Test
+    void jdbcTemplateStatementsCountTowardsBudget() {
+        RequestQueryStats stats = RequestQueryStats.begin(1, true);
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            assertThat(stats.getStatements()).isEqualTo(1);
+            
+            assertThatThrownBy(() -> jdbcTemplate.execute("SELECT 2"))
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            RequestQueryStats.end();
+        }
+    }
+    
+    /**
+     * 엔드포인트 요청이 SQL을 센 기록이 있고 예산을 넘은 기록은 없는지 확인
+     */
+    private void assertCountedWithinBudget(String uri) {
+        DistributionSummary withinBudget = registry.find("diary.request.statements")
+                .tags("method", "GET", "uri", uri, "over_budget", "false").summary();
+        assertThat(withinBudget).as("statements recorded for %s", uri).isNotNull();
+        assertThat(withinBudget.max()).as("statements per request for %s", uri).isGreaterThan(0);
+        assertThat(registry.find("diary.request.statements")
+                .tags("method", "GET", "uri", uri, "over_budget", "true").summary())
+                .as("over-budget requests for %s", uri).isNull();
+    }
+    
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                // 전문 검색 색인 식(to_tsvector('korean', ...))만 만들 수 있으면 되므로 simple 설정을 복사해 사용
+                statement.execute("CREATE TEXT SEARCH CONFIGURATION korean (COPY = simple)");
+                statement.execute(Files.readString(Path.of("..", "database", "schema.sql")));
+            }
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
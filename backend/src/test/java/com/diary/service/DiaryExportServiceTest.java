@@ -0,0 +1,168 @@
+package com.diary.service;
+
+import com.diary.entity.Diary;
+import com.diary.entity.User;
+import com.diary.repository.DiaryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * 대량 사용자 NDJSON 내보내기의 힙 사용량 검증
+ *
+ * 리포지토리 커서는 일기를 한 건씩 만들어 영속성 컨텍스트(managed)에 올리고, detach 시에만 빠지도록 흉내 낸다.
+ * 내보내기가 일기를 모아 두거나 분리하지 않으면 마지막 행을 쓸 때의 힙이 행 수에 비례해 커진다.
+ */
+@ExtendWith(MockitoExtension.class)
+class DiaryExportServiceTest {
+    
+    private static final int SMALL_USER_DIARIES = 10_000;
+    private static final int LARGE_USER_DIARIES = 50_000;
+    private static final String CONTENT = "오늘은 일기를 씁니다. ".repeat(40);
+    
+    // 일기 5만 건(행당 약 1KB)이 남아 있다면 수십 MB 이상 차이가 남
+    private static final long MAX_HEAP_GROWTH_BYTES = 8L * 1024 * 1024;
+    
+    @Mock
+    private DiaryRepository diaryRepository;
+    
+    // 호출 기록이 인자(일기)를 붙잡지 않도록 stub 전용
+    @Mock(stubOnly = true)
+    private EntityManager entityManager;
+    
+    @InjectMocks
+    private DiaryExportService diaryExportService;
+    
+    private final User user = new User("export-test");
+    
+    // 영속성 컨텍스트가 붙잡고 있는 엔티티
+    private final Set<Diary> managed = Collections.newSetFromMap(new IdentityHashMap<>());
+    
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ReflectionTestUtils.setField(diaryExportService, "objectMapper", objectMapper);
+        
+        doAnswer(invocation -> managed.remove(invocation.getArgument(0)))
+                .when(entityManager).detach(any());
+    }
+    
+    @Test
+    void exportNdjsonKeepsHeapFlatRegardlessOfDiaryCount() throws IOException {
+        // JIT/클래스 로딩 등 일회성 할당을 먼저 끝냄
+        export(1_000);
+        
+        long small = export(SMALL_USER_DIARIES);
+        long large = export(LARGE_USER_DIARIES);
+        
+        assertThat(large - small)
+                .as("heap used at last row: %d rows=%d bytes, %d rows=%d bytes",
+                        SMALL_USER_DIARIES, small, LARGE_USER_DIARIES, large)
+                .isLessThan(MAX_HEAP_GROWTH_BYTES);
+    }
+    
+    @Test
+    void exportNdjsonWritesOneLinePerDiaryAndDetachesEach() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        when(diaryRepository.streamByUser(user)).thenReturn(diaries(SMALL_USER_DIARIES, () -> {}));
+        
+        long count = diaryExportService.exportNdjson(user, out);
+        
+        assertThat(count).isEqualTo(SMALL_USER_DIARIES);
+        assertThat(out.lines).isEqualTo(SMALL_USER_DIARIES);
+        assertThat(managed).isEmpty();
+    }
+    
+    /**
+     * rows건을 내보내고, 마지막 행을 만들 때(커서가 열려 있는 동안) GC 후 힙 사용량을 반환
+     */
+    private long export(int rows) throws IOException {
+        managed.clear();
+        AtomicLong heapAtLastRow = new AtomicLong();
+        when(diaryRepository.streamByUser(user)).thenReturn(diaries(rows, () -> heapAtLastRow.set(usedHeapAfterGc())));
+        
+        CountingOutputStream out = new CountingOutputStream();
+        long count = diaryExportService.exportNdjson(user, out);
+        
+        assertThat(count).isEqualTo(rows);
+        assertThat(out.lines).isEqualTo(rows);
+        assertThat(out.bytes).isGreaterThan((long) rows * CONTENT.length());
+        return heapAtLastRow.get();
+    }
+    
+    private Stream<Diary> diaries(int rows, Runnable atLastRow) {
+        LocalDate start = LocalDate.of(2000, 1, 1);
+        return LongStream.rangeClosed(1, rows).mapToObj(id -> {
+            if (id == rows) {
+                atLastRow.run();
+            }
+            Diary diary = new Diary(user, "일기 " + id, CONTENT + id);
+            diary.setId(id);
+            diary.setDiaryDate(start.plusDays(id % 10_000));
+            diary.setCreatedAt(LocalDateTime.of(2000, 1, 1, 0, 0));
+            diary.setUpdatedAt(LocalDateTime.of(2000, 1, 1, 0, 0));
+            managed.add(diary);
+            return diary;
+        });
+    }
+    
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+    
+    /**
+     * 받은 바이트와 줄 수만 세고 내용은 버리는 출력 스트림
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private long bytes;
+        private long lines;
+        
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.diary.service;
+
+import com.diary.dto.StatisticsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 단어 분석 결과가 기존 정규식 규칙(split("\\s+") + isStopWord)과 같은지 검증
+ *
+ * 기존 구현을 그대로 옮긴 {@link Legacy}를 기준으로 한국어/영어/이모지/숫자가 섞인 본문의
+ * 단어별 횟수와 상위 단어를 비교한다. 상위 단어의 동률 순서는 기존에는 HashMap 순회 순서에 따라 달랐고
+ * 지금은 단어 오름차순으로 고정되었으므로, 기존 결과는 같은 기준으로 다시 정렬해 비교한다.
+ */
+class WordAnalyzerTest {
+    
+    private static final List<String> CORPUS = List.of(
+            "오늘은 날씨가 좋아서 공원에 갔다. 공원에 사람이 많았다!",
+            "그리고 저녁에는 친구와 치킨을 먹었다 🍗 치킨 최고 😀😀",
+            "Hello WORLD hello world the end and THE END",
+            "2024년 3월 15일 123 4567 3 일기\t쓰기\n일기\r\n쓰기\u000B일기\f쓰기",
+            "이 그 저 것 들 는 은 을 를 에 의 가 와 과 도 만 까지 부터 로 으로",
+            "하지만 그러나 그래서 따라서 즉 예를 들어 또 또한 그런데 하고 한테",
+            "! ? , . 😀 🍗 ㅋ ㅋㅋ ㅋㅋㅋ ^^ ~~ :) -_-",
+            "İstanbul ISTANBUL Straße STRASSE Ωμέγα ΩΜΈΓΑ",
+            "   앞뒤 공백   과   연속   공백   ",
+            "a1 1a 12ab 0 00 007 ...일기... '인용' \"따옴표\"",
+            "감정:행복 날씨:맑음 #일상 #일기 @친구 https://example.com/path?q=1",
+            ""
+    );
+    
+    private static final List<String> VOCABULARY = List.of(
+            "오늘", "오늘은", "행복", "행복했다", "일기", "공부", "산책", "친구", "가족", "커피",
+            "Coffee", "COFFEE", "coffee", "Walk", "walk", "the", "and", "그리고", "하지만", "이",
+            "😀", "😀😀", "🍗맛집", "2024", "2024년", "12", "x", "ㅋㅋ", "!", "?!", "İzmir", "ÉTÉ"
+    );
+    
+    private final WordAnalyzer wordAnalyzer = new WordAnalyzer();
+    
+    @Test
+    void countWordsMatchesLegacyPipeline() {
+        for (String text : corpus()) {
+            assertThat(wordAnalyzer.countWords(text))
+                    .as("countWords(%s)", text)
+                    .isEqualTo(Legacy.countWords(text));
+        }
+    }
+    
+    @Test
+    void countWordsSkipsWordsLongerThanIndexKey() {
+        String text = "긴단어 " + "가".repeat(WordAnalyzer.MAX_WORD_LENGTH) + " " + "나".repeat(WordAnalyzer.MAX_WORD_LENGTH + 1);
+        
+        assertThat(wordAnalyzer.countWords(text))
+                .isEqualTo(Legacy.countWords(text))
+                .containsOnlyKeys("긴단어", "가".repeat(WordAnalyzer.MAX_WORD_LENGTH));
+    }
+    
+    @Test
+    void topWordsMatchesLegacyPipelineWithWordAscendingTies() {
+        List<String> texts = corpus();
+        
+        for (int limit : new int[] {1, 5, 20, 50, 1000}) {
+            List<StatisticsDTO.WordFrequency> actual = wordAnalyzer.topWords(texts, limit);
+            List<StatisticsDTO.WordFrequency> legacy = Legacy.topWords(texts, limit);
+            
+            assertThat(frequencies(actual)).as("frequencies, limit=%d", limit).isEqualTo(frequencies(legacy));
+            assertThat(entries(actual)).as("entries, limit=%d", limit).isEqualTo(entries(Legacy.rankedWords(texts, limit)));
+        }
+    }
+    
+    @Test
+    void topWordsBreaksTiesByWord() {
+        List<StatisticsDTO.WordFrequency> top = wordAnalyzer.topWords(List.of("다람쥐 가방 나무 가방 다람쥐 나무 하늘"), 10);
+        
+        assertThat(entries(top)).containsExactly("가방=2", "나무=2", "다람쥐=2", "하늘=1");
+    }
+    
+    /**
+     * 고정 본문 + 어휘를 무작위로 섞은 본문 (시드 고정)
+     */
+    private static List<String> corpus() {
+        List<String> texts = new ArrayList<>(CORPUS);
+        Random random = new Random(20240315L);
+        String[] separators = {" ", "  ", "\t", "\n", "\r\n", " \u000B "};
+        for (int i = 0; i < 200; i++) {
+            StringBuilder text = new StringBuilder();
+            int words = random.nextInt(60);
+            for (int j = 0; j < words; j++) {
+                text.append(VOCABULARY.get(random.nextInt(VOCABULARY.size())));
+                text.append(separators[random.nextInt(separators.length)]);
+            }
+            texts.add(text.toString());
+        }
+        return texts;
+    }
+    
+    private static List<Long> frequencies(List<StatisticsDTO.WordFrequency> words) {
+        return words.stream().map(StatisticsDTO.WordFrequency::getFrequency).collect(Collectors.toList());
+    }
+    
+    private static List<String> entries(List<StatisticsDTO.WordFrequency> words) {
+        return words.stream().map(word -> word.getWord() + "=" + word.getFrequency()).collect(Collectors.toList());
+    }
+    
+    /**
+     * 기존 WordAnalyzer 구현 (정규식 분리 + 스트림 집계)
+     */
+    private static class Legacy {
+        
+        static Map<String, Long> countWords(String text) {
+            if (text == null || text.isEmpty()) {
+                return new HashMap<>();
+            }
+            
+            return Arrays.stream(text.split("\\s+"))
+                    .filter(word -> word.length() > 1)
+                    .filter(word -> word.length() <= WordAnalyzer.MAX_WORD_LENGTH)
+                    .filter(word -> !isStopWord(word))
+                    .collect(Collectors.groupingBy(
+                            String::toLowerCase,
+                            Collectors.counting()
+                    ));
+        }
+        
+        static List<StatisticsDTO.WordFrequency> topWords(Collection<String> texts, int limit) {
+            Map<String, Long> wordCount = countWords(String.join(" ", texts));
+            
+            return wordCount.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(limit)
+                    .map(entry -> new StatisticsDTO.WordFrequency(entry.getKey(), entry.getValue()))
+                    .collect(Collectors.toList());
+        }
+        
+        // 기존 집계를 새 동률 규칙(단어 오름차순)으로 정렬한 상위 limit개
+        static List<StatisticsDTO.WordFrequency> rankedWords(Collection<String> texts, int limit) {
+            return countWords(String.join(" ", texts)).entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())))
+                    .limit(limit)
+                    .map(entry -> new StatisticsDTO.WordFrequency(entry.getKey(), entry.getValue()))
+                    .collect(Collectors.toList());
+        }
+        
+        private static boolean isStopWord(String word) {
+            Set<String> stopWords = Set.of(
+                    "이", "그", "저", "것", "들", "는", "은", "을", "를", "에", "의", "가", "와", "과",
+                    "도", "만", "까지", "부터", "로", "으로", "에서", "에게", "한테", "하고", "그리고",
+                    "또", "또한", "그런데", "하지만", "그러나", "그래서", "따라서", "즉", "예를", "들어",
+                    "the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for", "of", "with", "by"
+            );
+            
+            return stopWords.contains(word.toLowerCase()) || word.matches("\\d+") || word.matches("[^\\w가-힣]");
+        }
+    }
+}
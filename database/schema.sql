@@ -25,14 +25,56 @@ CREATE INDEX idx_diaries_user_id ON diaries(user_id);
 CREATE INDEX idx_diaries_date ON diaries(diary_date);
 CREATE INDEX idx_diaries_title ON diaries(title);
 CREATE INDEX idx_users_temp_id ON users(temp_id);
+-- 커서 페이지네이션 (diary_date DESC, id DESC) 탐색용
+CREATE INDEX idx_diaries_user_date_id ON diaries(user_id, diary_date DESC, id DESC);
+-- 이미지 참조 확인 (공유 이미지 삭제 방지, 고아 이미지 정리)
+CREATE INDEX idx_diaries_image_path ON diaries(image_path) WHERE image_path IS NOT NULL;
 
 -- 전문 검색을 위한 인덱스 (PostgreSQL의 GIN 인덱스 사용)
 CREATE INDEX idx_diaries_content_search ON diaries USING gin(to_tsvector('korean', content));
 CREATE INDEX idx_diaries_title_search ON diaries USING gin(to_tsvector('korean', title));
 
+-- 사용자별 단어 빈도 색인 (일기 작성/수정/삭제 시 변화량만 갱신)
+CREATE TABLE user_word_counts (
+    user_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
+    word VARCHAR(100) NOT NULL,
+    frequency BIGINT NOT NULL,
+    PRIMARY KEY (user_id, word)
+);
+
+CREATE INDEX idx_user_word_counts_top ON user_word_counts(user_id, frequency DESC, word);
+
+-- 사용자별 월간/총 일기 수 카운터 (일기 쓰기 트랜잭션에서 함께 갱신)
+CREATE TABLE user_monthly_counts (
+    user_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
+    diary_year INTEGER NOT NULL,
+    diary_month INTEGER NOT NULL,
+    diary_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, diary_year, diary_month)
+);
+
+CREATE TABLE user_diary_totals (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    total_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- 사용자별 데이터 변경 버전 (일기 쓰기마다 증가, 목록/상세/통계 조건부 GET의 ETag)
+CREATE TABLE user_data_versions (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
 -- 샘플 데이터 (테스트용)
 INSERT INTO users (temp_id) VALUES ('temp_user_001');
 
 INSERT INTO diaries (user_id, title, content, diary_date) VALUES 
 (1, '첫 번째 일기', '오늘은 새로운 일기장 서비스를 시작했다. 정말 기대된다!', '2025-07-21'),
 (1, '두 번째 일기', '일기 쓰는 습관을 만들어보자. 매일 조금씩이라도 기록하는 것이 중요하다.', '2025-07-20');
+
+INSERT INTO user_word_counts (user_id, word, frequency) VALUES
+(1, '오늘은', 1), (1, '새로운', 1), (1, '일기장', 1), (1, '서비스를', 1), (1, '시작했다.', 1),
+(1, '정말', 1), (1, '기대된다!', 1), (1, '일기', 1), (1, '쓰는', 1), (1, '습관을', 1),
+(1, '만들어보자.', 1), (1, '매일', 1), (1, '조금씩이라도', 1), (1, '기록하는', 1), (1, '것이', 1), (1, '중요하다.', 1);
+
+INSERT INTO user_monthly_counts (user_id, diary_year, diary_month, diary_count) VALUES (1, 2025, 7, 2);
+INSERT INTO user_diary_totals (user_id, total_count) VALUES (1, 2);
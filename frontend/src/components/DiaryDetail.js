@@ -157,7 +157,7 @@ const DiaryDetail = () => {
 
         {diary.imagePath && (
           <DiaryImage 
-            src={fileAPI.getFileUrl(diary.imagePath)} 
+            src={fileAPI.getFileUrl(diary.imagePath, 'medium')} 
             alt="일기 이미지"
           />
         )}
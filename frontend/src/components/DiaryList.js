@@ -186,13 +186,13 @@ const DiaryList = () => {
               >
                 {diary.imagePath && (
                   <DiaryImage 
-                    src={fileAPI.getFileUrl(diary.imagePath)} 
+                    src={fileAPI.getFileUrl(diary.imagePath, 'thumb')} 
                     alt="일기 이미지"
                   />
                 )}
                 
                 <DiaryTitle level={3}>{diary.title}</DiaryTitle>
-                <DiaryContent>{diary.content}</DiaryContent>
+                <DiaryContent>{diary.snippet}</DiaryContent>
                 
                 <DiaryMeta>
                   <DateInfo>
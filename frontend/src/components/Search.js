@@ -1,4 +1,4 @@
-import React, { useState } from 'react';
+import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import styled from 'styled-components';
 import { format } from 'date-fns';
@@ -136,8 +136,37 @@ const Search = () => {
   const [results, setResults] = useState([]);
   const [loading, setLoading] = useState(false);
   const [hasSearched, setHasSearched] = useState(false);
+  const [suggestions, setSuggestions] = useState([]);
   const navigate = useNavigate();
 
+  // 제목 자동완성 (입력이 멈춘 뒤 조회, 늦게 도착한 이전 응답은 무시)
+  useEffect(() => {
+    const query = searchParams.title.trim();
+    if (searchType !== 'title' || !query) {
+      setSuggestions([]);
+      return undefined;
+    }
+
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const response = await diaryAPI.suggestTitles(query);
+        if (!cancelled) {
+          setSuggestions(response.data);
+        }
+      } catch (error) {
+        if (!cancelled) {
+          setSuggestions([]);
+        }
+      }
+    }, 150);
+
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchType, searchParams.title]);
+
   const handleInputChange = (e) => {
     const { name, value } = e.target;
     setSearchParams(prev => ({
@@ -224,7 +253,14 @@ const Search = () => {
               value={searchParams.title}
               onChange={handleInputChange}
               placeholder="검색할 제목을 입력하세요"
+              list="title-suggestions"
+              autoComplete="off"
             />
+            <datalist id="title-suggestions">
+              {suggestions.map(suggestion => (
+                <option key={suggestion.id} value={suggestion.title} />
+              ))}
+            </datalist>
           </FormGroup>
         );
       case 'content':
@@ -322,13 +358,13 @@ const Search = () => {
                 >
                   {diary.imagePath && (
                     <ResultImage 
-                      src={fileAPI.getFileUrl(diary.imagePath)} 
+                      src={fileAPI.getFileUrl(diary.imagePath, 'thumb')} 
                       alt="일기 이미지"
                     />
                   )}
                   
                   <ResultTitle level={3}>{diary.title}</ResultTitle>
-                  <ResultContent>{diary.content}</ResultContent>
+                  <ResultContent>{diary.snippet}</ResultContent>
                   
                   <ResultMeta>
                     <DateInfo>
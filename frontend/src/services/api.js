@@ -57,6 +57,9 @@ export const diaryAPI = {
   
   // 일기 검색
   searchDiaries: (params) => api.get('/diaries/search', { params }),
+  
+  // 제목 자동완성
+  suggestTitles: (q, limit = 10) => api.get('/diaries/suggest', { params: { q, limit } }),
 };
 
 // 파일 관련 API
@@ -73,14 +76,31 @@ export const fileAPI = {
     });
   },
   
-  // 파일 URL 생성
-  getFileUrl: (filename) => `${API_BASE_URL}/files/${filename}`,
+  // 파일 URL 생성 (size: 'thumb' | 'medium', 생략 시 원본)
+  getFileUrl: (filename, size) =>
+    `${API_BASE_URL}/files/${filename}${size ? `?size=${size}` : ''}`,
 };
 
 // 통계 관련 API
 export const statisticsAPI = {
   // 통계 조회
   getStatistics: () => api.get('/statistics'),
+  
+  // 연간 달력 히트맵 조회 (비트맵을 풀어 entries: 'yyyy-MM-dd' → 일기 수 맵 추가)
+  getCalendar: async (year) => {
+    const response = await api.get('/statistics/calendar', { params: { year } });
+    const { bitmap, counts } = response.data;
+    const bytes = atob(bitmap);
+    const entries = {};
+    let index = 0;
+    for (let day = 0; day < response.data.days; day++) {
+      if (bytes.charCodeAt(day >> 3) & (1 << (day & 7))) {
+        const date = new Date(Date.UTC(response.data.year, 0, day + 1));
+        entries[date.toISOString().slice(0, 10)] = counts[index++];
+      }
+    }
+    return { ...response, data: { ...response.data, entries } };
+  },
 };
 
 export default api;
@@ -0,0 +1,75 @@
+// 플랫폼 스레드 / 가상 스레드 실행 모드 비교용 부하 테스트 (k6)
+//
+// 실행 방법:
+//   1) 플랫폼 모드로 백엔드 실행 후
+//      k6 run -e MODE=platform loadtest/execution-mode.js
+//   2) --spring.threads.virtual.enabled=true (Java 21 이상)로 다시 실행 후
+//      k6 run -e MODE=virtual loadtest/execution-mode.js
+//   두 결과의 http_reqs(처리량)와 http_req_duration p(99)를 비교한다.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const USERS = parseInt(__ENV.USERS || '50', 10);
+const DIARIES_PER_USER = parseInt(__ENV.DIARIES_PER_USER || '20', 10);
+
+export const options = {
+  scenarios: {
+    mixed: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: parseInt(__ENV.VUS || '500', 10) },
+        { duration: '2m', target: parseInt(__ENV.VUS || '500', 10) },
+        { duration: '15s', target: 0 },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  tags: { mode: __ENV.MODE || 'unknown' },
+};
+
+// 테스트 사용자와 일기 준비
+export function setup() {
+  const users = [];
+  for (let i = 0; i < USERS; i++) {
+    const tempId = http.post(`${BASE_URL}/users/temp`).json('tempId');
+    const params = { headers: { 'Content-Type': 'application/json', 'X-Temp-Id': tempId } };
+    const ids = [];
+    for (let j = 0; j < DIARIES_PER_USER; j++) {
+      const body = JSON.stringify({
+        title: `부하 테스트 일기 ${j}`,
+        content: `오늘은 부하 테스트를 했다. load test entry number ${j} 정말 많은 요청이 들어온다.`,
+        diaryDate: `2025-0${(j % 9) + 1}-1${j % 10}`,
+      });
+      ids.push(http.post(`${BASE_URL}/diaries`, body, params).json('id'));
+    }
+    users.push({ tempId, ids });
+  }
+  return users;
+}
+
+export default function (users) {
+  const user = users[Math.floor(Math.random() * users.length)];
+  const params = { headers: { 'X-Temp-Id': user.tempId } };
+  const id = user.ids[Math.floor(Math.random() * user.ids.length)];
+  const roll = Math.random();
+
+  let res;
+  if (roll < 0.4) {
+    res = http.get(`${BASE_URL}/diaries?page=0&size=10`, Object.assign({ tags: { name: 'list' } }, params));
+  } else if (roll < 0.7) {
+    res = http.get(`${BASE_URL}/diaries/${id}`, Object.assign({ tags: { name: 'detail' } }, params));
+  } else if (roll < 0.85) {
+    res = http.get(`${BASE_URL}/diaries/search?title=${encodeURIComponent('일기')}`, Object.assign({ tags: { name: 'search' } }, params));
+  } else {
+    res = http.get(`${BASE_URL}/statistics`, Object.assign({ tags: { name: 'statistics' } }, params));
+  }
+
+  // 503은 DB 동시 실행 제한에 걸린 요청
+  check(res, {
+    'status 200': (r) => r.status === 200,
+    'not rejected': (r) => r.status !== 503,
+  });
+}
@@ -0,0 +1,155 @@
+// execution-mode.js와 같은 시나리오를 Node.js(18 이상, 내장 fetch)로 실행하는 버전
+// k6를 설치할 수 없는 환경에서 사용한다. 사용자/일기 준비, 요청 비율, VU 증감 단계가 같다.
+//
+// 실행 방법:
+//   MODE=platform node loadtest/execution-mode.mjs
+//   MODE=virtual node loadtest/execution-mode.mjs
+//   (BASE_URL, USERS, DIARIES_PER_USER, VUS 환경 변수는 k6 버전과 같다)
+//
+// 부하 생성기가 단일 스레드이므로 같은 호스트에서 돌리면 서버와 CPU를 나눠 쓴다. 두 모드를 같은 조건에서 비교할 때만 쓴다.
+
+const BASE_URL = process.env.BASE_URL || 'http://localhost:8080/api';
+const USERS = parseInt(process.env.USERS || '50', 10);
+const DIARIES_PER_USER = parseInt(process.env.DIARIES_PER_USER || '20', 10);
+const VUS = parseInt(process.env.VUS || '500', 10);
+const MODE = process.env.MODE || 'unknown';
+
+const STAGES = [
+  { duration: 30, target: VUS },
+  { duration: 120, target: VUS },
+  { duration: 15, target: 0 },
+];
+
+// 테스트 사용자와 일기 준비
+async function setup() {
+  const users = [];
+  for (let i = 0; i < USERS; i++) {
+    const tempId = (await (await fetch(`${BASE_URL}/users/temp`, { method: 'POST' })).json()).tempId;
+    const headers = { 'Content-Type': 'application/json', 'X-Temp-Id': tempId };
+    const ids = [];
+    for (let j = 0; j < DIARIES_PER_USER; j++) {
+      const body = JSON.stringify({
+        title: `부하 테스트 일기 ${j}`,
+        content: `오늘은 부하 테스트를 했다. load test entry number ${j} 정말 많은 요청이 들어온다.`,
+        diaryDate: `2025-0${(j % 9) + 1}-1${j % 10}`,
+      });
+      ids.push((await (await fetch(`${BASE_URL}/diaries`, { method: 'POST', headers, body })).json()).id);
+    }
+    users.push({ tempId, ids });
+  }
+  return users;
+}
+
+// ramping-vus: 단계별로 목표 VU 수까지 선형 증감
+function targetAt(elapsed) {
+  let start = 0;
+  let from = 0;
+  for (const stage of STAGES) {
+    if (elapsed < start + stage.duration) {
+      return Math.round(from + (stage.target - from) * (elapsed - start) / stage.duration);
+    }
+    start += stage.duration;
+    from = stage.target;
+  }
+  return -1;
+}
+
+const durations = { all: [] };
+const statuses = {};
+
+function record(name, status, duration) {
+  statuses[status] = (statuses[status] || 0) + 1;
+  durations.all.push(duration);
+  (durations[name] = durations[name] || []).push(duration);
+}
+
+async function iteration(users) {
+  const user = users[Math.floor(Math.random() * users.length)];
+  const headers = { 'X-Temp-Id': user.tempId };
+  const id = user.ids[Math.floor(Math.random() * user.ids.length)];
+  const roll = Math.random();
+
+  let name;
+  let url;
+  if (roll < 0.4) {
+    name = 'list';
+    url = `${BASE_URL}/diaries?page=0&size=10`;
+  } else if (roll < 0.7) {
+    name = 'detail';
+    url = `${BASE_URL}/diaries/${id}`;
+  } else if (roll < 0.85) {
+    name = 'search';
+    url = `${BASE_URL}/diaries/search?title=${encodeURIComponent('일기')}`;
+  } else {
+    name = 'statistics';
+    url = `${BASE_URL}/statistics`;
+  }
+
+  const started = performance.now();
+  let status;
+  try {
+    const res = await fetch(url, { headers });
+    await res.arrayBuffer();
+    status = res.status;
+  } catch (e) {
+    status = 'error';
+  }
+  record(name, status, performance.now() - started);
+}
+
+function percentile(sorted, q) {
+  return sorted[Math.min(sorted.length - 1, Math.floor(q * sorted.length))];
+}
+
+function summary(values) {
+  const sorted = [...values].sort((a, b) => a - b);
+  const avg = sorted.reduce((sum, v) => sum + v, 0) / sorted.length;
+  return [avg, percentile(sorted, 0.5), percentile(sorted, 0.95), percentile(sorted, 0.99), sorted[sorted.length - 1]]
+    .map((v) => v.toFixed(1).padStart(9))
+    .join(' ');
+}
+
+const users = await setup();
+const begin = Date.now();
+let running = 0;
+
+async function vu(index) {
+  running++;
+  while (true) {
+    const target = targetAt((Date.now() - begin) / 1000);
+    if (target < 0 || index >= target) {
+      break;
+    }
+    await iteration(users);
+  }
+  running--;
+}
+
+let spawned = 0;
+await new Promise((resolve) => {
+  const timer = setInterval(() => {
+    const target = targetAt((Date.now() - begin) / 1000);
+    if (target < 0) {
+      if (running === 0) {
+        clearInterval(timer);
+        resolve();
+      }
+      return;
+    }
+    // 증가 구간에서 목표 수까지 VU를 띄운다 (감소 구간에서는 번호가 목표 이상인 VU가 스스로 멈춘다)
+    for (; spawned < target; spawned++) {
+      vu(spawned);
+    }
+  }, 100);
+});
+
+const seconds = (Date.now() - begin) / 1000;
+console.log(`mode=${MODE} vus=${VUS} duration=${seconds.toFixed(0)}s`);
+console.log(`http_reqs ${durations.all.length} (${(durations.all.length / seconds).toFixed(1)}/s)`);
+console.log(`status ${JSON.stringify(statuses)}`);
+console.log(`${'http_req_duration (ms)'.padEnd(24)}       avg       p50       p95       p99       max`);
+for (const name of ['all', 'list', 'detail', 'search', 'statistics']) {
+  if (durations[name]) {
+    console.log(`  ${name.padEnd(22)}${summary(durations[name])}`);
+  }
+}